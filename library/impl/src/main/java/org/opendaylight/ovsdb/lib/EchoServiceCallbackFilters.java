@@ -8,5 +8,41 @@
 
 package org.opendaylight.ovsdb.lib;
 
+/**
+ * Controls the echo service started with {@link OvsdbClient#startEchoService(EchoServiceCallbackFilters)}, and
+ * gets notified when the remote device does not answer the echo requests.
+ *
+ * <p>The service only probes a connection which received nothing for {@link #getEchoIntervalMillis()}. The reply
+ * to a probe is awaited for a timeout derived from the measured round-trip times, bounded by
+ * {@link #getEchoTimeoutMillis()}. All the methods have defaults, implementations override what they need.
+ */
 public interface EchoServiceCallbackFilters {
+
+    /**
+     * Returns how long a connection may stay silent before it is probed.
+     *
+     * @return the interval in milliseconds
+     */
+    default long getEchoIntervalMillis() {
+        return 5000;
+    }
+
+    /**
+     * Returns the longest time to wait for the reply to a probe.
+     *
+     * @return the timeout in milliseconds
+     */
+    default long getEchoTimeoutMillis() {
+        return 5000;
+    }
+
+    /**
+     * Invoked when a probe was not answered in time.
+     *
+     * @param consecutiveMisses number of probes in a row which were not answered
+     * @return true to disconnect the client, which stops the echo service
+     */
+    default boolean echoMissed(int consecutiveMisses) {
+        return consecutiveMisses >= 3;
+    }
 }
@@ -14,6 +14,8 @@ public class MonitorHandle implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final String id;
+    // Id of the last transaction reported to a monitor_cond_since monitor
+    private volatile String lastTxnId;
 
     public MonitorHandle(String id) {
         this.id = id;
@@ -22,4 +24,19 @@ public class MonitorHandle implements Serializable {
     public String getId() {
         return id;
     }
+
+    /**
+     * Returns the id of the last transaction whose changes were reported to the monitor created with this
+     * handle by {@link OvsdbClient#monitorCondSince(org.opendaylight.ovsdb.lib.schema.DatabaseSchema,
+     * java.util.List, MonitorHandle, MonitorCallBack, int)}.
+     *
+     * @return the transaction id, null if nothing was reported yet
+     */
+    public String getLastTxnId() {
+        return lastTxnId;
+    }
+
+    public void setLastTxnId(String lastTxnId) {
+        this.lastTxnId = lastTxnId;
+    }
 }
@@ -10,6 +10,8 @@ package org.opendaylight.ovsdb.lib;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.notation.Row;
@@ -40,6 +42,15 @@ public interface OvsdbClient {
      */
     ListenableFuture<DatabaseSchema> getSchema(String database);
 
+    /**
+     * Fetches the schemas of several databases at once, the get_schema requests are issued in parallel.
+     * Schemas seen before, on this or any other connection, are not parsed again.
+     *
+     * @param databases the names of the databases
+     * @return the schemas by database name, failing if any of the schemas could not be retrieved
+     */
+    ListenableFuture<Map<String, DatabaseSchema>> getSchemas(List<String> databases);
+
     /**
      * Allows for a mini DSL way of collecting the transactions to be executed against the ovsdb instance.
      * @return TransactionBuilder
@@ -55,6 +66,46 @@ public interface OvsdbClient {
      */
     ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations);
 
+    /**
+     * Execute the list of operations in a single transaction, handing the rows returned by select operations to the
+     * given consumer as they are decoded instead of collecting them in the results, so that the decoded rows need not
+     * all be held at once. This does not bound the memory used by a large select to a row: the JSON of the whole
+     * response is received and held until all its rows are consumed, only the decoded rows are not accumulated.
+     * Large tables are read in bounded chunks with {@link org.opendaylight.ovsdb.lib.operations.BulkSelect}. The
+     * transaction is never merged with others.
+     * @param operations List of operations that needs to be part of a transact call
+     * @param selectRowConsumer receives each selected row along with the index of its select operation, on an
+     *     executor of the connection, never on its I/O thread
+     * @return Future object representing the result of the transaction, the results of the select operations
+     *     have no rows. The future completes once all the rows are consumed.
+     */
+    ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations,
+            ObjIntConsumer<Row<GenericTableSchema>> selectRowConsumer);
+
+    /**
+     * Merges the transactions passed to {@link #transact(DatabaseSchema, List)} within the given window into a
+     * single transact request, combining mutates of the same rows. Every caller still gets the results of its
+     * own operations. A merged transaction which fails is sent again as separate transactions, so that the
+     * failure of one transaction does not affect the others. Transactions with operations other than insert,
+     * update, mutate, delete, select and comment are never merged.
+     * @param windowMillis how long a transaction may wait for others to be merged with, 0 disables merging
+     * @param maxOperations number of operations after which the merged transaction is sent without waiting
+     */
+    void setTransactCoalescing(long windowMillis, int maxOperations);
+
+    /**
+     * Execute the list of operations in a single transaction, guarded by an ovsdb lock held by this client.
+     * An assert on the lock is added in front of the operations, hence the server rejects the transaction if
+     * another client got hold of the lock in the meantime. Takes the lock as released if the assert fails.
+     * @param lockId id of a lock obtained with {@link #lock(String, LockAquisitionCallback, LockStolenCallback)}
+     *               or {@link #steal(String)}
+     * @param operations List of operations that needs to be part of a transact call
+     * @return Future object representing the result of the transaction, starting with the result of the assert.
+     *     The future fails with an {@link IllegalStateException} if the lock is not known to be held.
+     */
+    ListenableFuture<List<OperationResult>> transactWithLock(DatabaseSchema dbSchema, String lockId,
+                                                             List<Operation> operations);
+
     /**
      * ovsdb <a href="http://tools.ietf.org/html/draft-pfaff-ovsdb-proto-04#section-4.1.5">monitor</a> operation.
      * @param monitorRequests represents what needs to be monitored including a client specified monitor handle. This
@@ -103,6 +154,78 @@ public interface OvsdbClient {
                                                     MonitorCallBack callback,
                                                     int timeout);
 
+    /**
+     * Non-blocking ovsdb <a href="http://tools.ietf.org/html/draft-pfaff-ovsdb-proto-04#section-4.1.5">monitor</a>
+     * operation. Unlike the blocking variants, the initial rows are delivered to the callback like any later
+     * update, before the updates which follow them. Failures are reported to
+     * {@link MonitorCallBack#exception(Throwable)} as well as through the returned future.
+     * @param monitorRequests represents what needs to be monitored
+     * @param monitorHandle  A client specified monitor handle. This handle is used to later cancel
+     *                       ({@link #cancelMonitorAsync(MonitorHandle)}) the monitor.
+     * @param callback receives the initial rows and the updates
+     * @return future holding the initial rows once they were handed to the callback
+     */
+    <E extends TableSchema<E>> ListenableFuture<TableUpdates> monitorAsync(DatabaseSchema schema,
+                                                                           List<MonitorRequest> monitorRequests,
+                                                                           MonitorHandle monitorHandle,
+                                                                           MonitorCallBack callback);
+
+    /**
+     * ovsdb monitor_cond operation, an OVSDB 7.x extension described in ovsdb-server(7). Works like
+     * {@link #monitor(DatabaseSchema, List, MonitorHandle, MonitorCallBack)}, except that the server only reports
+     * the rows matching the where conditions of each {@link MonitorRequest}, in the initial dump as well as in
+     * the updates. The updates are delivered to the callback in the same form as monitor updates.
+     * @param monitorRequests represents what needs to be monitored, with optional where conditions
+     * @param monitorHandle  A client specified monitor handle. This handle is used to later change the conditions
+     *                       ({@link #monitorCondChange(MonitorHandle, List)}) or cancel
+     *                       ({@link #cancelMonitor(MonitorHandle)}) the monitor.
+     * @param callback receives the monitor response
+     * @param timeout time in seconds for monitor transaction timeout
+     * @return the initial rows, null if the monitor could not be set up (e.g. the server does not support
+     *     monitor_cond)
+     */
+    <E extends TableSchema<E>> TableUpdates monitorCond(DatabaseSchema schema,
+                                                        List<MonitorRequest> monitorRequests,
+                                                        MonitorHandle monitorHandle,
+                                                        MonitorCallBack callback,
+                                                        int timeout);
+
+    /**
+     * ovsdb monitor_cond_change operation, an OVSDB 7.x extension described in ovsdb-server(7). Replaces the
+     * where conditions of the tables of a monitor created by
+     * {@link #monitorCond(DatabaseSchema, List, MonitorHandle, MonitorCallBack, int)}, without re-creating it.
+     * The server reports the rows which stop matching as deleted and the rows which start matching as inserted.
+     * Only the conditions of the requests are sent, the monitored columns cannot be changed: tables which are not
+     * listed keep their conditions, and tables listed without conditions go back to reporting all their rows.
+     * @param monitorHandle handle of the monitor
+     * @param monitorRequests the new conditions per table
+     * @return future which completes once the server has applied the new conditions
+     */
+    ListenableFuture<Void> monitorCondChange(MonitorHandle monitorHandle, List<MonitorRequest> monitorRequests);
+
+    /**
+     * ovsdb monitor_cond_since operation, an OVSDB 7.x extension described in ovsdb-server(7). Works like
+     * {@link #monitorCond(DatabaseSchema, List, MonitorHandle, MonitorCallBack, int)}, and additionally records the
+     * id of the last reported transaction in the monitor handle.
+     *
+     * <p>Passing the same handle again after a reconnect (to a new client of the same server) resumes the monitor:
+     * only the changes made since the recorded transaction are returned, applied to the rows reported before the
+     * connection was lost. If the server no longer has that transaction in its history, the full content is
+     * returned instead and the rows which disappeared in the meantime are reported as deleted. The monitor
+     * requests must be the same as the ones the handle was first used with.
+     * @param monitorRequests represents what needs to be monitored, with optional where conditions
+     * @param monitorHandle  A client specified monitor handle, kept across reconnects to resume the monitor
+     * @param callback receives the monitor response
+     * @param timeout time in seconds for monitor transaction timeout
+     * @return the initial rows or the changes since the last transaction, null if the monitor could not be set up
+     *     (e.g. the server does not support monitor_cond_since)
+     */
+    <E extends TableSchema<E>> TableUpdates monitorCondSince(DatabaseSchema schema,
+                                                             List<MonitorRequest> monitorRequests,
+                                                             MonitorHandle monitorHandle,
+                                                             MonitorCallBack callback,
+                                                             int timeout);
+
     /**
      * Cancels an existing monitor method.
      * @param handler Handle identifying a specific monitor request that is being cancelled.
@@ -118,6 +241,15 @@ public interface OvsdbClient {
      */
     void cancelMonitor(MonitorHandle handler, int timeout);
 
+    /**
+     * Cancels an existing monitor without blocking. The callback of the monitor receives no update once the future
+     * completes.
+     * @param handler Handle identifying a specific monitor request that is being cancelled.
+     * @return future which completes once the server cancelled the monitor, and fails with an
+     *     {@link IllegalStateException} if the server rejected the request, the monitor keeps its callback then
+     */
+    ListenableFuture<Void> cancelMonitorAsync(MonitorHandle handler);
+
     /**
      * ovsdb <a href="http://tools.ietf.org/html/draft-pfaff-ovsdb-proto-04#section-4.1.8">lock</a> operation.
      * @param lockId a client specified id for the lock; this can be used for unlocking ({@link #unLock(String)})
@@ -129,32 +261,50 @@ public interface OvsdbClient {
     /**
      * ovsdb steal operation.
      * See {@link #lock(String, LockAquisitionCallback, LockStolenCallback)}
+     * @return future which is true once the lock is held, the callbacks registered by lock are notified too
      */
     ListenableFuture<Boolean> steal(String lockId);
 
     /**
      * ovsdb unlock operation.
      * See {@link #unLock(String)}
+     * @return future which is true once the lock is released, the callbacks registered by lock are dropped, and
+     *     false if the server rejected the request, the callbacks are kept then
      */
     ListenableFuture<Boolean> unLock(String lockId);
 
+    /**
+     * Whether the lock is held by this client, as far as the lock replies and notifications tell.
+     * @param lockId id of the lock
+     */
+    boolean isLockHeld(String lockId);
+
     /**
      * ovsdb echo operation.
      */
     ListenableFuture<List<String>> echo();
 
     /**
-     * Starts the echo service. The {@code callbackFilters} can be used to get notified on the absence of echo
-     * notifications from the remote device and control the frequency of such notifications.
-     * @param callbackFilters callbacks for notifying the client of missing echo calls from remote.
+     * Starts the echo service, which probes the remote device with echo requests whenever the connection has been
+     * silent for a while. The {@code callbackFilters} control the frequency of the probes and get notified when
+     * the remote device does not answer them. Replaces the echo service started earlier, if any.
+     * @param callbackFilters callbacks for notifying the client of missing echo replies from remote.
      */
     void startEchoService(EchoServiceCallbackFilters callbackFilters);
 
     /**
-     * Stops the echo service, i.e echo requests from the remote would not be acknowledged after this call.
+     * Stops the echo service, i.e the remote device is no longer probed after this call. Echo requests from the
+     * remote are still acknowledged.
      */
     void stopEchoService();
 
+    /**
+     * Returns the round-trip times measured by the echo service, to spot slow devices before they time out.
+     * @return the round-trip times of the last answered echo requests in microseconds, the oldest first; empty if
+     *     the echo service is not running
+     */
+    List<Long> getEchoRoundTripTimesMicros();
+
     OvsdbConnectionInfo getConnectionInfo();
 
     boolean isActive();
@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.ColumnType;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replica of the monitored tables of a database, kept up to date from the monitor updates.
+ *
+ * <p>The cache is a {@link MonitorCallBack}: pass it to
+ * {@link org.opendaylight.ovsdb.lib.OvsdbClient#monitor(DatabaseSchema, List, MonitorCallBack)} (or one of the
+ * conditional variants), or feed it the initial {@link TableUpdates} and the updates received by another
+ * callback through {@link #update(TableUpdates, DatabaseSchema)}.
+ *
+ * <p>Rows are stored by uuid, as complete rows: the columns of a modification are merged into the cached row,
+ * so that a row always holds the last known value of every monitored column. Additional indexes can be created
+ * on single-valued and set columns with {@link #addIndex(String, String)}; a set column is indexed by each of
+ * its elements.
+ *
+ * <p>Updates are applied by a single thread at a time. Reads do not lock: a cached row is never modified once
+ * published, it is replaced by a new row instead, so a row read from the cache is a consistent snapshot of that
+ * row. Reads spanning several rows are weakly consistent, they may or may not reflect an update applied
+ * concurrently.
+ */
+public class OvsdbTableCache implements MonitorCallBack {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OvsdbTableCache.class);
+
+    private final DatabaseSchema dbSchema;
+    private final ConcurrentMap<String, TableCache> tables = new ConcurrentHashMap<>();
+    private final List<OvsdbTableCacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    public OvsdbTableCache(DatabaseSchema dbSchema) {
+        this.dbSchema = dbSchema;
+    }
+
+    public DatabaseSchema getDatabaseSchema() {
+        return dbSchema;
+    }
+
+    /**
+     * Creates an index on a column of a table. The rows already cached are indexed immediately.
+     *
+     * @param tableName name of the table
+     * @param columnName name of the column
+     * @throws IllegalArgumentException if the table or the column does not exist, or the column is a map
+     */
+    public synchronized void addIndex(String tableName, String columnName) {
+        if (!dbSchema.hasTable(tableName)) {
+            throw new IllegalArgumentException("Unknown table " + tableName + " in " + dbSchema.getName());
+        }
+        GenericTableSchema tableSchema = dbSchema.table(tableName, GenericTableSchema.class);
+        ColumnSchema<GenericTableSchema, ?> columnSchema = tableSchema.column(columnName);
+        if (columnSchema == null) {
+            throw new IllegalArgumentException("Unknown column " + columnName + " in " + tableName);
+        }
+        if (columnSchema.getType() instanceof ColumnType.KeyValuedColumnType) {
+            throw new IllegalArgumentException("Map column " + columnName + " of " + tableName
+                    + " cannot be indexed");
+        }
+        tableCache(tableName).addIndex(columnSchema);
+    }
+
+    public void addListener(OvsdbTableCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OvsdbTableCacheListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the cached row.
+     *
+     * @param tableName name of the table
+     * @param uuid uuid of the row
+     * @return the row, null if it is not cached
+     */
+    public Row<GenericTableSchema> getRow(String tableName, UUID uuid) {
+        TableCache table = tables.get(tableName);
+        return table == null ? null : table.rows.get(uuid);
+    }
+
+    /**
+     * Returns the cached rows of a table.
+     *
+     * @param tableName name of the table
+     * @return unmodifiable live view of the rows by uuid
+     */
+    public Map<UUID, Row<GenericTableSchema>> getRows(String tableName) {
+        TableCache table = tables.get(tableName);
+        return table == null ? Collections.emptyMap() : Collections.unmodifiableMap(table.rows);
+    }
+
+    /**
+     * Returns the cached rows whose indexed column holds the given value, or contains it for a set column.
+     *
+     * @param tableName name of the table
+     * @param columnName name of the indexed column
+     * @param value the value to look up
+     * @return the matching rows
+     * @throws IllegalArgumentException if there is no index on the column
+     */
+    public List<Row<GenericTableSchema>> getRowsByIndex(String tableName, String columnName, Object value) {
+        TableCache table = tables.get(tableName);
+        ColumnIndex index = table == null ? null : table.indexes.get(columnName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index on column " + columnName + " of " + tableName);
+        }
+        Set<UUID> uuids = index.uuids.get(value);
+        if (uuids == null) {
+            return Collections.emptyList();
+        }
+        List<Row<GenericTableSchema>> result = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            Row<GenericTableSchema> row = table.rows.get(uuid);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops all the cached rows, without notifying the listeners. The indexes are kept.
+     */
+    public synchronized void clear() {
+        tables.values().forEach(TableCache::clear);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public synchronized void update(TableUpdates result, DatabaseSchema schema) {
+        if (result == null) {
+            return;
+        }
+        for (Entry<String, TableUpdate> entry : result.getUpdates().entrySet()) {
+            TableCache table = tableCache(entry.getKey());
+            TableUpdate<GenericTableSchema> tableUpdate = entry.getValue();
+            for (TableUpdate<GenericTableSchema>.RowUpdate<GenericTableSchema> rowUpdate
+                    : tableUpdate.getRows().values()) {
+                Row<GenericTableSchema> oldRow = table.rows.get(rowUpdate.getUuid());
+                Row<GenericTableSchema> newRow = table.apply(rowUpdate.getUuid(), oldRow, rowUpdate.getNew());
+                notifyListeners(entry.getKey(), rowUpdate.getUuid(), oldRow, newRow);
+            }
+        }
+    }
+
+    @Override
+    public void exception(Throwable throwable) {
+        LOG.warn("Monitor of {} failed, the cache may be stale", dbSchema.getName(), throwable);
+    }
+
+    private TableCache tableCache(String tableName) {
+        return tables.computeIfAbsent(tableName, TableCache::new);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void notifyListeners(String tableName, UUID uuid, Row<GenericTableSchema> oldRow,
+            Row<GenericTableSchema> newRow) {
+        for (OvsdbTableCacheListener listener : listeners) {
+            try {
+                listener.rowUpdated(tableName, uuid, oldRow, newRow);
+            } catch (RuntimeException e) {
+                LOG.warn("Cache listener {} failed on row {} of {}", listener, uuid, tableName, e);
+            }
+        }
+    }
+
+    private static final class TableCache {
+        private final String name;
+        private final ConcurrentMap<UUID, Row<GenericTableSchema>> rows = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, ColumnIndex> indexes = new ConcurrentHashMap<>();
+
+        TableCache(String name) {
+            this.name = name;
+        }
+
+        void addIndex(ColumnSchema<GenericTableSchema, ?> columnSchema) {
+            if (indexes.containsKey(columnSchema.getName())) {
+                return;
+            }
+            ColumnIndex index = new ColumnIndex(columnSchema);
+            rows.forEach((uuid, row) -> index.values(row).forEach(value -> index.add(value, uuid)));
+            indexes.put(columnSchema.getName(), index);
+            LOG.debug("Indexed {} rows of {} on {}", rows.size(), name, columnSchema.getName());
+        }
+
+        /*
+         * Stores the new version of a row and updates the indexes. A new row is merged into the cached one,
+         * which covers updates holding the modified columns only.
+         */
+        Row<GenericTableSchema> apply(UUID uuid, Row<GenericTableSchema> oldRow, Row<GenericTableSchema> update) {
+            Row<GenericTableSchema> newRow = null;
+            if (update == null) {
+                rows.remove(uuid);
+            } else {
+                newRow = oldRow == null ? update : merge(oldRow, update);
+                rows.put(uuid, newRow);
+            }
+
+            for (ColumnIndex index : indexes.values()) {
+                Collection<?> oldValues = index.values(oldRow);
+                Collection<?> newValues = index.values(newRow);
+                if (oldValues.equals(newValues)) {
+                    continue;
+                }
+                for (Object value : newValues) {
+                    index.add(value, uuid);
+                }
+                for (Object value : oldValues) {
+                    if (!newValues.contains(value)) {
+                        index.remove(value, uuid);
+                    }
+                }
+            }
+            return newRow;
+        }
+
+        void clear() {
+            rows.clear();
+            indexes.values().forEach(index -> index.uuids.clear());
+        }
+
+        private static Row<GenericTableSchema> merge(Row<GenericTableSchema> oldRow,
+                Row<GenericTableSchema> update) {
+            Row<GenericTableSchema> merged = new Row<>(update.getTableSchema());
+            for (Column<GenericTableSchema, ?> column : oldRow.getColumns()) {
+                merged.addColumn(column.getSchema().getName(), column);
+            }
+            for (Column<GenericTableSchema, ?> column : update.getColumns()) {
+                merged.addColumn(column.getSchema().getName(), column);
+            }
+            return merged;
+        }
+
+        @Override
+        public String toString() {
+            return "TableCache [name=" + name + ", rows=" + rows.size() + ", indexes=" + indexes.keySet() + "]";
+        }
+    }
+
+    private static final class ColumnIndex {
+        private final ColumnSchema<GenericTableSchema, ?> columnSchema;
+        private final ConcurrentMap<Object, Set<UUID>> uuids = new ConcurrentHashMap<>();
+
+        ColumnIndex(ColumnSchema<GenericTableSchema, ?> columnSchema) {
+            this.columnSchema = columnSchema;
+        }
+
+        // The indexed values of a row: the elements of a set column, or the value of a single-valued one
+        Collection<?> values(Row<GenericTableSchema> row) {
+            Column<GenericTableSchema, ?> column = row == null ? null : row.getColumn(columnSchema);
+            Object data = column == null ? null : column.getData();
+            if (data instanceof Set) {
+                return (Set<?>) data;
+            }
+            return data == null ? Collections.emptySet() : Collections.singleton(data);
+        }
+
+        void add(Object value, UUID uuid) {
+            uuids.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(uuid);
+        }
+
+        void remove(Object value, UUID uuid) {
+            uuids.computeIfPresent(value, (key, set) -> {
+                set.remove(uuid);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
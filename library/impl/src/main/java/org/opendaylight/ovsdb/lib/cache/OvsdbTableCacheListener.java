@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.cache;
+
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+/**
+ * Listener that can be registered with an {@link OvsdbTableCache} to get notified of the changes applied to
+ * the cached rows.
+ */
+public interface OvsdbTableCacheListener {
+
+    /**
+     * Invoked once the cache holds the new version of a row, on the thread which applied the update.
+     *
+     * @param tableName name of the table of the row
+     * @param uuid uuid of the row
+     * @param oldRow the complete row as cached before the update, null if the row was inserted
+     * @param newRow the complete row as cached after the update, null if the row was deleted
+     */
+    void rowUpdated(String tableName, UUID uuid, Row<GenericTableSchema> oldRow, Row<GenericTableSchema> newRow);
+}
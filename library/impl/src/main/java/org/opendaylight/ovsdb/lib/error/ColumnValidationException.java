@@ -0,0 +1,23 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.error;
+
+/**
+ * This exception is thrown when a value does not meet the constraints of its column in the schema.
+ */
+public class ColumnValidationException extends RuntimeException {
+
+    public ColumnValidationException(String message) {
+        super(message);
+    }
+
+    public ColumnValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
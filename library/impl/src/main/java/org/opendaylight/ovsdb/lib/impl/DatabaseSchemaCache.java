@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide cache of the parsed database schemas, shared by all the connections.
+ *
+ * <p>Switches running the same OVS build report the same schema, so each distinct schema is parsed once.
+ * Schemas are addressed by their content: the database name, the schema version and the checksum the
+ * server sends along ("cksum"), or a SHA-256 of the schema JSON if there is none. The cached
+ * {@link DatabaseSchema}s have their internally generated columns populated before they are published and
+ * must not be modified by the connections sharing them.
+ *
+ * <p>If a directory is configured, the JSON of every newly seen schema is written to it and the schemas found
+ * there are parsed when the directory is set, at startup, so that connections established after a restart
+ * find their schema in the cache.
+ */
+final class DatabaseSchemaCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseSchemaCache.class);
+    private static final String SUFFIX = ".json";
+
+    private static final Map<String, DatabaseSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static volatile Path directory;
+
+    private DatabaseSchemaCache() {
+    }
+
+    /**
+     * Sets the directory the schemas are persisted to and loads the schemas it already holds.
+     *
+     * @param path the directory, null or empty to keep the schemas in memory only
+     */
+    static synchronized void setDirectory(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            directory = null;
+            return;
+        }
+        Path dir = Paths.get(path.trim());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            LOG.warn("Cannot create the schema cache directory {}, schemas are kept in memory only", dir, e);
+            directory = null;
+            return;
+        }
+        directory = dir;
+        load(dir);
+    }
+
+    /**
+     * Returns the schema described by the given get_schema result, parsing it only if it was not seen before.
+     *
+     * @param dbName the database name
+     * @param json the schema JSON
+     * @return the shared, populated schema
+     */
+    static DatabaseSchema get(String dbName, JsonNode json) {
+        String key = key(dbName, json);
+        DatabaseSchema schema = SCHEMAS.get(key);
+        if (schema != null) {
+            return schema;
+        }
+        // Connections racing for a new schema may parse it more than once, only the first one is kept
+        DatabaseSchema parsed = parse(dbName, json);
+        schema = SCHEMAS.putIfAbsent(key, parsed);
+        if (schema != null) {
+            return schema;
+        }
+        LOG.info("Cached database schema {}", key);
+        store(key, json);
+        return parsed;
+    }
+
+    static int size() {
+        return SCHEMAS.size();
+    }
+
+    static void clear() {
+        SCHEMAS.clear();
+    }
+
+    static String key(String dbName, JsonNode json) {
+        JsonNode version = json.get("version");
+        JsonNode cksum = json.get("cksum");
+        String digest = cksum != null && cksum.isTextual() ? cksum.asText()
+                : Hashing.sha256().hashString(json.toString(), StandardCharsets.UTF_8).toString();
+        // The key doubles as the file name of the persisted schema
+        return (dbName + '_' + (version != null ? version.asText() : "") + '_' + digest)
+                .replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static DatabaseSchema parse(String dbName, JsonNode json) {
+        DatabaseSchema schema = DatabaseSchema.fromJson(dbName, json);
+        schema.populateInternallyGeneratedColumns();
+        return schema;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private static void load(Path dir) {
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String key = fileName.substring(0, fileName.length() - SUFFIX.length());
+                try {
+                    JsonNode json = OvsdbObjectMapper.getObjectMapper().readTree(file.toFile());
+                    String dbName = json.path("name").asText();
+                    if (!key.equals(key(dbName, json))) {
+                        LOG.warn("Ignoring schema file {} which does not match its content", file);
+                        continue;
+                    }
+                    SCHEMAS.computeIfAbsent(key, k -> parse(dbName, json));
+                    loaded++;
+                } catch (IOException | RuntimeException e) {
+                    LOG.warn("Ignoring unreadable schema file {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to list the schema cache directory {}", dir, e);
+        }
+        LOG.info("Loaded {} database schemas from {}", loaded, dir);
+    }
+
+    private static void store(String key, JsonNode json) {
+        Path dir = directory;
+        if (dir == null) {
+            return;
+        }
+        Path file = dir.resolve(key + SUFFIX);
+        try {
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.write(tmp, OvsdbObjectMapper.getWriter().writeValueAsBytes(json));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to persist schema {} to {}", key, file, e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.opendaylight.ovsdb.lib.EchoServiceCallbackFilters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps probing an OVSDB connection with echo requests, see {@link EchoServiceCallbackFilters}.
+ *
+ * <p>All the connections are driven by a single timer thread. A connection which received anything recently is
+ * known to be alive and is not probed. The reply timeout adapts to the connection like the TCP retransmission
+ * timeout does: the smoothed round-trip time plus four times its variation, bounded by the configured timeout.
+ * After a missed reply the connection is probed again once the timeout has elapsed rather than after the full
+ * interval.
+ */
+final class EchoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EchoService.class);
+
+    static final String TRAFFIC_HANDLER_NAME = "echoTraffic";
+    static final int RTT_HISTORY_SIZE = 64;
+    // Lower bound of the adaptive reply timeout, to absorb scheduling jitter on fast links
+    private static final long MIN_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final Timer ECHO_TIMER = new HashedWheelTimer(new DefaultThreadFactory("OVSDB-Echo", true),
+            100, TimeUnit.MILLISECONDS);
+
+    private final Channel channel;
+    private final Supplier<ListenableFuture<?>> echo;
+    private final EchoServiceCallbackFilters filters;
+    private final TrafficHandler trafficHandler = new TrafficHandler();
+
+    private volatile boolean stopped;
+    private volatile Timeout nextProbe;
+    private volatile long lastReadNanos = System.nanoTime();
+
+    // Guarded by this
+    private final long[] rttHistory = new long[RTT_HISTORY_SIZE];
+    private int rttCount;
+    private long smoothedRtt;
+    private long rttVariation;
+    private int consecutiveMisses;
+
+    EchoService(Channel channel, Supplier<ListenableFuture<?>> echo, EchoServiceCallbackFilters filters) {
+        this.channel = channel;
+        this.echo = echo;
+        this.filters = filters;
+    }
+
+    void start() {
+        channel.pipeline().addFirst(TRAFFIC_HANDLER_NAME, trafficHandler);
+        schedule(TimeUnit.MILLISECONDS.toNanos(filters.getEchoIntervalMillis()));
+    }
+
+    void stop() {
+        stopped = true;
+        Timeout timeout = nextProbe;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (channel.pipeline().get(TRAFFIC_HANDLER_NAME) == trafficHandler) {
+            channel.pipeline().remove(trafficHandler);
+        }
+    }
+
+    /**
+     * Returns the round-trip times of the last answered probes.
+     *
+     * @return up to {@value #RTT_HISTORY_SIZE} round-trip times in microseconds, the oldest first
+     */
+    synchronized List<Long> getRoundTripTimesMicros() {
+        int size = Math.min(rttCount, RTT_HISTORY_SIZE);
+        List<Long> result = new ArrayList<>(size);
+        for (int i = rttCount - size; i < rttCount; i++) {
+            result.add(TimeUnit.NANOSECONDS.toMicros(rttHistory[i % RTT_HISTORY_SIZE]));
+        }
+        return result;
+    }
+
+    synchronized long getReplyTimeoutNanos() {
+        long max = TimeUnit.MILLISECONDS.toNanos(filters.getEchoTimeoutMillis());
+        if (rttCount == 0) {
+            return max;
+        }
+        return Math.min(max, Math.max(MIN_TIMEOUT_NANOS, smoothedRtt + 4 * rttVariation));
+    }
+
+    private void schedule(long delayNanos) {
+        if (!stopped) {
+            nextProbe = ECHO_TIMER.newTimeout(timeout -> probe(), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void probe() {
+        if (stopped) {
+            return;
+        }
+        if (!channel.isActive()) {
+            LOG.debug("Channel {} is no longer active, stopping the echo service", channel);
+            stop();
+            return;
+        }
+
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(filters.getEchoIntervalMillis());
+        long idleNanos = System.nanoTime() - lastReadNanos;
+        if (idleNanos < intervalNanos) {
+            // The connection is demonstrably alive, check again once it has been silent for a whole interval
+            synchronized (this) {
+                consecutiveMisses = 0;
+            }
+            schedule(intervalNanos - idleNanos);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final long timeoutNanos = getReplyTimeoutNanos();
+        final AtomicBoolean done = new AtomicBoolean();
+        final ListenableFuture<?> reply = echo.get();
+        final Timeout replyTimeout = ECHO_TIMER.newTimeout(timeout -> {
+            if (done.compareAndSet(false, true)) {
+                missed(timeoutNanos);
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+
+        reply.addListener(() -> {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            replyTimeout.cancel();
+            if (isSuccessful(reply)) {
+                answered(System.nanoTime() - start);
+                schedule(intervalNanos);
+            } else {
+                missed(timeoutNanos);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static boolean isSuccessful(ListenableFuture<?> future) {
+        if (future.isCancelled()) {
+            return false;
+        }
+        try {
+            future.get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            return false;
+        }
+    }
+
+    private synchronized void answered(long rttNanos) {
+        if (rttCount == 0) {
+            smoothedRtt = rttNanos;
+            rttVariation = rttNanos / 2;
+        } else {
+            rttVariation = (3 * rttVariation + Math.abs(smoothedRtt - rttNanos)) / 4;
+            smoothedRtt = (7 * smoothedRtt + rttNanos) / 8;
+        }
+        rttHistory[rttCount++ % RTT_HISTORY_SIZE] = rttNanos;
+        consecutiveMisses = 0;
+        LOG.trace("Echo reply from {} after {} us", channel, TimeUnit.NANOSECONDS.toMicros(rttNanos));
+    }
+
+    private void missed(long timeoutNanos) {
+        int misses;
+        synchronized (this) {
+            misses = ++consecutiveMisses;
+        }
+        LOG.debug("No echo reply from {} within {} ms, {} in a row", channel,
+                TimeUnit.NANOSECONDS.toMillis(timeoutNanos), misses);
+        if (filters.echoMissed(misses)) {
+            LOG.warn("Disconnecting {} after {} unanswered echo requests", channel, misses);
+            stop();
+            channel.disconnect();
+            return;
+        }
+        schedule(Math.min(timeoutNanos, TimeUnit.MILLISECONDS.toNanos(filters.getEchoIntervalMillis())));
+    }
+
+    // Records when the channel last received anything, which is all a read costs
+    private final class TrafficHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            lastReadNanos = System.nanoTime();
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
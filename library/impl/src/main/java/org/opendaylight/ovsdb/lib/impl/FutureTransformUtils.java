@@ -8,26 +8,57 @@
 
 package org.opendaylight.ovsdb.lib.impl;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
+import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
 public final class FutureTransformUtils {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // The shared mapper already ignores unknown properties
+    private static final ObjectReader RESULT_READER = OvsdbObjectMapper.getReader().forType(OperationResult.class);
 
     private FutureTransformUtils() {
     }
 
     public static ListenableFuture<List<OperationResult>> transformTransactResponse(
             ListenableFuture<List<JsonNode>> transactResponseFuture, final List<Operation> operations) {
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return transformTransactResponse(transactResponseFuture, operations, null);
+    }
+
+    public static ListenableFuture<List<OperationResult>> transformTransactResponse(
+            ListenableFuture<List<JsonNode>> transactResponseFuture, final List<Operation> operations,
+            final ObjIntConsumer<Row<GenericTableSchema>> rowConsumer) {
+        return transformTransactResponse(transactResponseFuture, operations, rowConsumer,
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Turns the results of a transact request into operation results. The rows returned by select operations are
+     * decoded one at a time. The JSON of the whole response is held until the transformation completes, it is left
+     * untouched for the other listeners of the response future.
+     *
+     * @param rowConsumer if not null, receives the rows returned by the select operations, along with the index of
+     *     their operation, instead of the operation results; the rows of a select result are then left empty
+     * @param executor runs the transformation, and the row consumer
+     */
+    public static ListenableFuture<List<OperationResult>> transformTransactResponse(
+            ListenableFuture<List<JsonNode>> transactResponseFuture, final List<Operation> operations,
+            final ObjIntConsumer<Row<GenericTableSchema>> rowConsumer, final Executor executor) {
         return Futures.transform(transactResponseFuture, jsonNodes -> {
             final List<OperationResult> operationResults = new ArrayList<>();
             for (int index = 0; index < jsonNodes.size(); index++) {
@@ -51,17 +82,22 @@ public final class FutureTransformUtils {
                         Operation op = operations.get(index);
                         switch (op.getOp()) {
                             case "select":
-                                or = new OperationResult();
-                                or.setRows(op.getTableSchema().createRows(jsonNode));
+                                if (jsonNode.has("rows")) {
+                                    or = selectResult(op.getTableSchema(), jsonNode.get("rows"), index,
+                                            rowConsumer);
+                                } else {
+                                    // An error
+                                    or = readResult(jsonNode);
+                                }
                                 break;
 
                             default:
-                                or = OBJECT_MAPPER.convertValue(jsonNode, OperationResult.class);
+                                or = readResult(jsonNode);
 
                                 break;
                         }
                     } else {
-                        or = OBJECT_MAPPER.convertValue(jsonNode, OperationResult.class);
+                        or = readResult(jsonNode);
                     }
                 } else {
                     or = new OperationResult();
@@ -70,6 +106,38 @@ public final class FutureTransformUtils {
             }
 
             return operationResults;
-        }, MoreExecutors.directExecutor());
+        }, executor);
+    }
+
+    private static OperationResult readResult(JsonNode jsonNode) {
+        try {
+            return RESULT_READER.readValue(jsonNode);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid operation result " + jsonNode, e);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static OperationResult selectResult(TableSchema tableSchema, JsonNode rowsNode, int index,
+            ObjIntConsumer<Row<GenericTableSchema>> rowConsumer) {
+        OperationResult result = new OperationResult();
+        if (rowConsumer != null) {
+            decodeRows(tableSchema, rowsNode, row -> rowConsumer.accept(row, index));
+            result.setRows(Collections.emptyList());
+        } else {
+            List<Row<GenericTableSchema>> rows = new ArrayList<>(rowsNode.size());
+            decodeRows(tableSchema, rowsNode, rows::add);
+            result.setRows(rows);
+        }
+        return result;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void decodeRows(TableSchema tableSchema, JsonNode rowsNode, Consumer<Row> consumer) {
+        for (JsonNode rowNode : rowsNode) {
+            if (rowNode instanceof ObjectNode) {
+                consumer.accept(tableSchema.createRow((ObjectNode) rowNode));
+            }
+        }
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.channel.Channel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the decoding and dispatching of the updates received on a connection off its event loop, one task at a
+ * time and in submission order.
+ *
+ * <p>When the consumers fall behind and the number of pending tasks reaches the high watermark, reading from the
+ * channel is suspended (auto-read off), which lets TCP push back on the switch. Reading resumes once the backlog
+ * is down to the low watermark.
+ */
+final class OrderedUpdateExecutor implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderedUpdateExecutor.class);
+
+    private final Channel channel;
+    private final Executor sequentialExecutor;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final AtomicInteger pending = new AtomicInteger();
+    // Guarded by this, volatile for the unlocked check on every completed task
+    private volatile boolean readSuspended;
+
+    OrderedUpdateExecutor(Channel channel, Executor executor, int highWatermark, int lowWatermark) {
+        this.channel = channel;
+        this.sequentialExecutor = MoreExecutors.newSequentialExecutor(executor);
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (pending.incrementAndGet() >= highWatermark) {
+            suspendRead();
+        }
+        try {
+            sequentialExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    completed();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Dropping update task for {}, the client is disconnected", channel, e);
+            completed();
+        }
+    }
+
+    int getPendingCount() {
+        return pending.get();
+    }
+
+    private void completed() {
+        if (pending.decrementAndGet() <= lowWatermark && readSuspended) {
+            resumeRead();
+        }
+    }
+
+    private synchronized void suspendRead() {
+        if (!readSuspended && pending.get() >= highWatermark) {
+            readSuspended = true;
+            channel.config().setAutoRead(false);
+            LOG.debug("{} updates pending for {}, suspending reads", pending.get(), channel);
+        }
+    }
+
+    private synchronized void resumeRead() {
+        if (readSuspended && pending.get() <= lowWatermark) {
+            readSuspended = false;
+            channel.config().setAutoRead(true);
+            LOG.debug("Update backlog of {} is down to {}, resuming reads", channel, pending.get());
+        }
+    }
+}
@@ -13,11 +13,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,12 +27,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.ObjIntConsumer;
 import org.opendaylight.ovsdb.lib.EchoServiceCallbackFilters;
 import org.opendaylight.ovsdb.lib.LockAquisitionCallback;
 import org.opendaylight.ovsdb.lib.LockStolenCallback;
@@ -40,7 +46,6 @@ import org.opendaylight.ovsdb.lib.OvsdbClient;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
-import org.opendaylight.ovsdb.lib.error.ParsingException;
 import org.opendaylight.ovsdb.lib.message.MonitorRequest;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
 import org.opendaylight.ovsdb.lib.message.TableUpdate;
@@ -48,6 +53,7 @@ import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.message.TransactBuilder;
 import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.operations.Assert;
 import org.opendaylight.ovsdb.lib.operations.Operation;
 import org.opendaylight.ovsdb.lib.operations.OperationResult;
 import org.opendaylight.ovsdb.lib.operations.TransactionBuilder;
@@ -66,13 +72,30 @@ public class OvsdbClientImpl implements OvsdbClient {
     private static final Logger LOG = LoggerFactory.getLogger(OvsdbClientImpl.class);
     private ExecutorService executorService;
     private OvsdbRPC rpc;
-    private Map<String, DatabaseSchema> schemas = new HashMap<>();
-    private Map<String, CallbackContext> monitorCallbacks = new HashMap<>();
+    private final Map<String, DatabaseSchema> schemas = new ConcurrentHashMap<>();
+    private final Map<String, CallbackContext> monitorCallbacks = new ConcurrentHashMap<>();
+    // Decodes and dispatches the updates of this connection, in order and off the event loop
+    private Executor updateExecutor = MoreExecutors.directExecutor();
+    private final Map<String, LockContext> lockContexts = new ConcurrentHashMap<>();
     private OvsdbRPC.Callback rpcCallback;
     private OvsdbConnectionInfo connectionInfo;
     private Channel channel;
+    private volatile TransactCoalescer transactCoalescer;
     private boolean isConnectionPublished;
+    private EchoService echoService;
     private static final int NO_TIMEOUT = -1;
+    // Pending updates at which reading from the connection is suspended, and resumed
+    private static final int UPDATE_BACKLOG_HIGH_WATERMARK = 128;
+    private static final int UPDATE_BACKLOG_LOW_WATERMARK = 32;
+    // The last-txn-id asking monitor_cond_since for all the rows
+    private static final String NO_TXN_ID = "00000000-0000-0000-0000-000000000000";
+
+    /*
+     * Row state of the monitor_cond_since monitors, kept across connections for as long as the caller holds
+     * on to the handle, so that a resumed monitor can apply the changes to the rows it already reported.
+     */
+    private static final Map<MonitorHandle, Update2Converter> RESUMABLE_MONITORS =
+        Collections.synchronizedMap(new WeakHashMap<>());
 
     private static final ThreadFactory THREAD_FACTORY_SSL =
         new ThreadFactoryBuilder().setNameFormat("OVSDB-PassiveConnection-SSL-%d").build();
@@ -85,6 +108,8 @@ public class OvsdbClientImpl implements OvsdbClient {
         ThreadFactory threadFactory =
             getThreadFactory(type, socketConnType, channel.remoteAddress().toString());
         this.executorService = Executors.newCachedThreadPool(threadFactory);
+        this.updateExecutor = new OrderedUpdateExecutor(channel, executorService, UPDATE_BACKLOG_HIGH_WATERMARK,
+            UPDATE_BACKLOG_LOW_WATERMARK);
         this.channel = channel;
         this.connectionInfo = new OvsdbConnectionInfo(channel, type);
     }
@@ -120,32 +145,46 @@ public class OvsdbClientImpl implements OvsdbClient {
     OvsdbClientImpl() {
     }
 
-    void setupUpdateListener() {
+    synchronized void setupUpdateListener() {
         if (rpcCallback == null) {
             OvsdbRPC.Callback temp = new OvsdbRPC.Callback() {
                 @Override
                 public void update(Object node, UpdateNotification updateNotification) {
-                    String key = updateNotification.getContext();
-                    CallbackContext callbackContext = monitorCallbacks.get(key);
-                    MonitorCallBack monitorCallBack = callbackContext.monitorCallBack;
-                    if (monitorCallBack == null) {
-                        //ignore ?
-                        LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
-                        return;
-                    }
-                    TableUpdates updates = transformingCallback(updateNotification.getUpdates(),
-                            callbackContext.schema);
-                    monitorCallBack.update(updates, callbackContext.schema);
+                    updateExecutor.execute(() -> dispatchUpdate(updateNotification));
                 }
 
                 @Override
-                public void locked(Object node, List<String> ids) {
+                public void update2(Object node, UpdateNotification updateNotification) {
+                    updateExecutor.execute(() -> dispatchUpdate2(updateNotification));
+                }
 
+                @Override
+                public void update3(Object node, UpdateNotification updateNotification) {
+                    updateExecutor.execute(() -> dispatchUpdate3(updateNotification));
                 }
 
                 @Override
-                public void stolen(Object node, List<String> ids) {
+                public void locked(Object node, List<String> ids) {
+                    for (String lockId : ids) {
+                        LockContext lockContext = lockContexts.get(lockId);
+                        if (lockContext == null) {
+                            LOG.info("Lock {} acquired, but no known handler. Ignoring!", lockId);
+                            continue;
+                        }
+                        lockContext.acquired();
+                    }
+                }
 
+                @Override
+                public void stolen(Object node, List<String> ids) {
+                    for (String lockId : ids) {
+                        LockContext lockContext = lockContexts.get(lockId);
+                        if (lockContext == null) {
+                            LOG.info("Lock {} stolen, but no known handler. Ignoring!", lockId);
+                            continue;
+                        }
+                        lockContext.stolen();
+                    }
                 }
             };
             this.rpcCallback = temp;
@@ -154,6 +193,47 @@ public class OvsdbClientImpl implements OvsdbClient {
     }
 
 
+    private void dispatchUpdate(UpdateNotification updateNotification) {
+        String key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null) {
+            //ignore ?
+            LOG.info("callback received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        TableUpdates updates = transformingCallback(updateNotification.getUpdates(), callbackContext.schema);
+        callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+    }
+
+    private void dispatchUpdate2(UpdateNotification updateNotification) {
+        String key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null
+                || callbackContext.update2Converter == null) {
+            LOG.info("update2 received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        JsonNode updatesJson = callbackContext.update2Converter.toUpdates(updateNotification.getUpdates(),
+                callbackContext.schema);
+        TableUpdates updates = transformingCallback(updatesJson, callbackContext.schema);
+        callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+    }
+
+    private void dispatchUpdate3(UpdateNotification updateNotification) {
+        String key = updateNotification.getContext();
+        CallbackContext callbackContext = monitorCallbacks.get(key);
+        if (callbackContext == null || callbackContext.monitorCallBack == null
+                || callbackContext.monitorHandle == null) {
+            LOG.info("update3 received with context {}, but no known handler. Ignoring!", key);
+            return;
+        }
+        JsonNode updatesJson = callbackContext.update2Converter.toUpdates(updateNotification.getUpdates(),
+                callbackContext.schema);
+        TableUpdates updates = transformingCallback(updatesJson, callbackContext.schema);
+        callbackContext.monitorCallBack.update(updates, callbackContext.schema);
+        callbackContext.monitorHandle.setLastTxnId(updateNotification.getLastTxnId());
+    }
+
     protected TableUpdates transformingCallback(JsonNode tableUpdatesJson, DatabaseSchema dbSchema) {
         //todo(ashwin): we should move all the JSON parsing logic to a utility class
         if (tableUpdatesJson instanceof ObjectNode) {
@@ -174,14 +254,50 @@ public class OvsdbClientImpl implements OvsdbClient {
 
     @Override
     public ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations) {
+        TransactCoalescer coalescer = transactCoalescer;
+        return coalescer != null ? coalescer.transact(dbSchema, operations) : sendTransact(dbSchema, operations);
+    }
+
+    @Override
+    public ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema, List<Operation> operations,
+            ObjIntConsumer<Row<GenericTableSchema>> selectRowConsumer) {
+        TransactCoalescer coalescer = transactCoalescer;
+        if (coalescer != null) {
+            return coalescer.sendAlone(() -> sendTransact(dbSchema, operations, selectRowConsumer));
+        }
+        return sendTransact(dbSchema, operations, selectRowConsumer);
+    }
+
+    @Override
+    public synchronized void setTransactCoalescing(long windowMillis, int maxOperations) {
+        TransactCoalescer previous = transactCoalescer;
+        transactCoalescer = windowMillis > 0 && maxOperations > 1
+                ? new TransactCoalescer(this::sendTransact, channel.eventLoop(), windowMillis, maxOperations) : null;
+        if (previous != null) {
+            previous.flush();
+        }
+    }
+
+    private ListenableFuture<List<OperationResult>> sendTransact(DatabaseSchema dbSchema,
+            List<Operation> operations) {
+        return sendTransact(dbSchema, operations, null);
+    }
 
+    private ListenableFuture<List<OperationResult>> sendTransact(DatabaseSchema dbSchema,
+            List<Operation> operations, ObjIntConsumer<Row<GenericTableSchema>> selectRowConsumer) {
         //todo, we may not need transactionbuilder if we can have JSON objects
         TransactBuilder builder = new TransactBuilder(dbSchema);
         for (Operation operation : operations) {
             builder.addOperation(operation);
         }
 
-        return FutureTransformUtils.transformTransactResponse(rpc.transact(builder), operations);
+        /*
+         * The response is completed on the event loop, which must not wait for the caller to consume a large
+         * select: the consumer is run on the executor of this connection.
+         */
+        return FutureTransformUtils.transformTransactResponse(rpc.transact(builder), operations,
+                selectRowConsumer, selectRowConsumer != null && executorService != null ? executorService
+                        : MoreExecutors.directExecutor());
     }
 
     @Override
@@ -255,8 +371,144 @@ public class OvsdbClientImpl implements OvsdbClient {
         return transformingCallback(result, dbSchema);
     }
 
+    @Override
+    public <E extends TableSchema<E>> ListenableFuture<TableUpdates> monitorAsync(final DatabaseSchema dbSchema,
+                                                                                  List<MonitorRequest> monitorRequest,
+                                                                                  final MonitorHandle monitorHandle,
+                                                                                  final MonitorCallBack callback) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = Maps.uniqueIndex(monitorRequest,
+                MonitorRequest::getTableName);
+
+        registerCallback(monitorHandle, callback, dbSchema);
+
+        /*
+         * The initial rows are handed to the callback through the update executor, queued when the response is
+         * received, hence before any update of this monitor, which is received later on the same channel.
+         */
+        ListenableFuture<TableUpdates> monitor = Futures.transform(rpc.monitor(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap)), result -> {
+                TableUpdates updates = transformingCallback(result, dbSchema);
+                callback.update(updates, dbSchema);
+                return updates;
+            }, updateExecutor);
+        Futures.addCallback(monitor, new FutureCallback<TableUpdates>() {
+            @Override
+            public void onSuccess(TableUpdates result) {
+                LOG.debug("Monitor {} on {} started", monitorHandle.getId(), dbSchema.getName());
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                LOG.warn("Failed to monitor {}", dbSchema, throwable);
+                callback.exception(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+        return monitor;
+    }
+
+    @Override
+    public <E extends TableSchema<E>> TableUpdates monitorCond(final DatabaseSchema dbSchema,
+                                                               List<MonitorRequest> monitorRequest,
+                                                               final MonitorHandle monitorHandle,
+                                                               final MonitorCallBack callback,
+                                                               int timeout) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = Maps.uniqueIndex(monitorRequest,
+                MonitorRequest::getTableName);
+
+        final Update2Converter converter = new Update2Converter(Maps.transformValues(reqMap,
+            MonitorRequest::getColumns));
+        registerCallback(monitorHandle, new CallbackContext(callback, dbSchema, converter));
+
+        /*
+         * The initial rows have to be recorded by the converter before any update2 for this monitor is
+         * handled, hence the conversion is queued on the update executor when the response is received.
+         */
+        ListenableFuture<JsonNode> monitor = Futures.transform(rpc.monitor_cond(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap)),
+            result -> converter.toUpdates(result, dbSchema), updateExecutor);
+        JsonNode result;
+        try {
+            if (timeout == NO_TIMEOUT) {
+                result = monitor.get();
+            } else {
+                result = monitor.get(timeout, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            LOG.warn("Failed to monitor_cond {}", dbSchema, e);
+            return null;
+        }
+        return transformingCallback(result, dbSchema);
+    }
+
+    @Override
+    public ListenableFuture<Void> monitorCondChange(final MonitorHandle monitorHandle,
+                                                    List<MonitorRequest> monitorRequest) {
+        final Map<String, List<Map<String, Object>>> changes = new HashMap<>();
+        for (MonitorRequest request : monitorRequest) {
+            // ovsdb-server rejects a null where, and any columns since it cannot change the monitored columns
+            changes.put(request.getTableName(), Collections.singletonList(request.getWhere() == null
+                ? Collections.emptyMap() : Collections.singletonMap("where", request.getWhere())));
+        }
+
+        return Futures.transform(rpc.monitor_cond_change(
+            () -> Arrays.asList(monitorHandle.getId(), monitorHandle.getId(), changes)),
+            result -> null, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public <E extends TableSchema<E>> TableUpdates monitorCondSince(final DatabaseSchema dbSchema,
+                                                                    List<MonitorRequest> monitorRequest,
+                                                                    final MonitorHandle monitorHandle,
+                                                                    final MonitorCallBack callback,
+                                                                    int timeout) {
+
+        final ImmutableMap<String, MonitorRequest> reqMap = Maps.uniqueIndex(monitorRequest,
+                MonitorRequest::getTableName);
+
+        final Update2Converter converter = RESUMABLE_MONITORS.computeIfAbsent(monitorHandle,
+            handle -> new Update2Converter(Maps.transformValues(reqMap, MonitorRequest::getColumns)));
+        registerCallback(monitorHandle, new CallbackContext(callback, dbSchema, converter, monitorHandle));
+
+        final String lastTxnId = monitorHandle.getLastTxnId();
+        ListenableFuture<JsonNode> monitor = Futures.transform(rpc.monitor_cond_since(
+            () -> Arrays.asList(dbSchema.getName(), monitorHandle.getId(), reqMap,
+                lastTxnId != null ? lastTxnId : NO_TXN_ID)),
+            result -> {
+                // [<found>, <last-txn-id>, <table-updates2>]
+                boolean found = lastTxnId != null && result.get(0).asBoolean();
+                if (found) {
+                    LOG.info("Monitor {} on {} resumed after transaction {}", monitorHandle.getId(),
+                        dbSchema.getName(), lastTxnId);
+                } else if (lastTxnId != null) {
+                    LOG.info("Monitor {} on {} cannot resume after transaction {}, server sent all the rows",
+                        monitorHandle.getId(), dbSchema.getName(), lastTxnId);
+                }
+                JsonNode updates = converter.toUpdates(result.get(2), dbSchema, !found);
+                monitorHandle.setLastTxnId(result.get(1).asText());
+                return updates;
+            }, updateExecutor);
+        JsonNode result;
+        try {
+            if (timeout == NO_TIMEOUT) {
+                result = monitor.get();
+            } else {
+                result = monitor.get(timeout, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            LOG.warn("Failed to monitor_cond_since {}", dbSchema, e);
+            return null;
+        }
+        return transformingCallback(result, dbSchema);
+    }
+
     private void registerCallback(MonitorHandle monitorHandle, MonitorCallBack callback, DatabaseSchema schema) {
-        this.monitorCallbacks.put(monitorHandle.getId(), new CallbackContext(callback, schema));
+        registerCallback(monitorHandle, new CallbackContext(callback, schema));
+    }
+
+    private void registerCallback(MonitorHandle monitorHandle, CallbackContext callbackContext) {
+        this.monitorCallbacks.put(monitorHandle.getId(), callbackContext);
         setupUpdateListener();
     }
 
@@ -267,6 +519,9 @@ public class OvsdbClientImpl implements OvsdbClient {
 
     @Override
     public void cancelMonitor(final MonitorHandle handler, int timeout) {
+        // A cancelled monitor starts from scratch if it is ever re-created
+        RESUMABLE_MONITORS.remove(handler);
+        handler.setLastTxnId(null);
         ListenableFuture<JsonNode> cancelMonitor = rpc.monitor_cancel(() -> Collections.singletonList(handler.getId()));
 
         JsonNode result = null;
@@ -280,13 +535,30 @@ public class OvsdbClientImpl implements OvsdbClient {
             LOG.error("Exception when canceling monitor handler {}", handler.getId(), e);
         }
 
-        if (result == null) {
+        // Error replies carry a null result
+        if (result == null || result.isNull()) {
             LOG.error("Fail to cancel monitor with handler {}", handler.getId());
         } else {
             LOG.debug("Successfully cancel monitoring for handler {}", handler.getId());
         }
     }
 
+    @Override
+    public ListenableFuture<Void> cancelMonitorAsync(final MonitorHandle handler) {
+        return Futures.transform(rpc.monitor_cancel(() -> Collections.singletonList(handler.getId())), result -> {
+            // Error replies carry a null result, the monitor is still active then
+            if (result == null || result.isNull()) {
+                throw new IllegalStateException("Failed to cancel monitor " + handler.getId());
+            }
+            // A cancelled monitor starts from scratch if it is ever re-created
+            RESUMABLE_MONITORS.remove(handler);
+            handler.setLastTxnId(null);
+            monitorCallbacks.remove(handler.getId());
+            LOG.debug("Successfully cancel monitoring for handler {}", handler.getId());
+            return null;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public ListenableFuture<List<String>> echo() {
         return rpc.echo();
@@ -294,27 +566,104 @@ public class OvsdbClientImpl implements OvsdbClient {
 
     @Override
     public void lock(String lockId, LockAquisitionCallback lockedCallBack, LockStolenCallback stolenCallback) {
-        throw new UnsupportedOperationException("not yet implemented");
+        final LockContext lockContext = new LockContext(lockId, lockedCallBack, stolenCallback);
+        lockContexts.put(lockId, lockContext);
+        setupUpdateListener();
+
+        // When the lock is not free, the server replies {"locked": false} and sends "locked" once it is granted
+        Futures.addCallback(rpc.lock(Collections.singletonList(lockId)), new FutureCallback<JsonNode>() {
+            @Override
+            public void onSuccess(JsonNode result) {
+                if (isLocked(result)) {
+                    lockContext.acquired();
+                } else {
+                    LOG.debug("Lock {} is held by another client, waiting for it", lockId);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                LOG.warn("Failed to request lock {}", lockId, throwable);
+            }
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
     public ListenableFuture<Boolean> steal(String lockId) {
-        throw new UnsupportedOperationException("not yet implemented");
+        // Keep track of a lock stolen without asking for it first, for transactWithLock
+        final LockContext lockContext = lockContexts.computeIfAbsent(lockId, id -> new LockContext(id, null, null));
+        setupUpdateListener();
+        return Futures.transform(rpc.steal(Collections.singletonList(lockId)), result -> {
+            boolean locked = isLocked(result);
+            if (locked) {
+                lockContext.acquired();
+            }
+            return locked;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
     public ListenableFuture<Boolean> unLock(String lockId) {
-        throw new UnsupportedOperationException("not yet implemented");
+        return Futures.transform(rpc.unlock(Collections.singletonList(lockId)), result -> {
+            // Error replies carry a null result
+            boolean unlocked = result != null && !result.isNull();
+            if (unlocked) {
+                lockContexts.remove(lockId);
+            } else {
+                LOG.warn("Failed to release lock {}", lockId);
+            }
+            return unlocked;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
-    public void startEchoService(EchoServiceCallbackFilters callbackFilters) {
-        throw new UnsupportedOperationException("not yet implemented");
+    public boolean isLockHeld(String lockId) {
+        LockContext lockContext = lockContexts.get(lockId);
+        return lockContext != null && lockContext.held;
     }
 
     @Override
-    public void stopEchoService() {
-        throw new UnsupportedOperationException("not yet implemented");
+    public ListenableFuture<List<OperationResult>> transactWithLock(DatabaseSchema dbSchema, String lockId,
+                                                                    List<Operation> operations) {
+        final LockContext lockContext = lockContexts.get(lockId);
+        if (lockContext == null || !lockContext.held) {
+            return Futures.immediateFailedFuture(new IllegalStateException("Lock " + lockId + " is not held"));
+        }
+
+        List<Operation> lockedOperations = new ArrayList<>(operations.size() + 1);
+        lockedOperations.add(new Assert(lockId));
+        lockedOperations.addAll(operations);
+        return Futures.transform(transact(dbSchema, lockedOperations), results -> {
+            if (!results.isEmpty() && results.get(0).getError() != null) {
+                LOG.warn("Lock {} is no longer held : {}", lockId, results.get(0).getError());
+                lockContext.held = false;
+            }
+            return results;
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static boolean isLocked(JsonNode result) {
+        return result != null && result.path("locked").asBoolean(false);
+    }
+
+    @Override
+    public synchronized void startEchoService(EchoServiceCallbackFilters callbackFilters) {
+        stopEchoService();
+        echoService = new EchoService(channel, rpc::echo, callbackFilters);
+        echoService.start();
+    }
+
+    @Override
+    public synchronized void stopEchoService() {
+        if (echoService != null) {
+            echoService.stop();
+            echoService = null;
+        }
+    }
+
+    @Override
+    public synchronized List<Long> getEchoRoundTripTimesMicros() {
+        return echoService == null ? Collections.emptyList() : echoService.getRoundTripTimesMicros();
     }
 
     @Override
@@ -345,66 +694,100 @@ public class OvsdbClientImpl implements OvsdbClient {
         DatabaseSchema databaseSchema = schemas.get(database);
 
         if (databaseSchema == null) {
-            return Futures.transform(
-                getSchemaFromDevice(Collections.singletonList(database)),
-                (Function<Map<String, DatabaseSchema>, DatabaseSchema>) result -> {
-                    if (result.containsKey(database)) {
-                        DatabaseSchema dbSchema = result.get(database);
-                        dbSchema.populateInternallyGeneratedColumns();
-                        OvsdbClientImpl.this.schemas.put(database, dbSchema);
-                        return dbSchema;
-                    } else {
-                        return null;
-                    }
-                }, executorService);
+            return Futures.transform(getSchemas(Collections.singletonList(database)),
+                (Function<Map<String, DatabaseSchema>, DatabaseSchema>) result -> result.get(database),
+                MoreExecutors.directExecutor());
         } else {
             return Futures.immediateFuture(databaseSchema);
         }
     }
 
-    private ListenableFuture<Map<String, DatabaseSchema>> getSchemaFromDevice(final List<String> dbNames) {
-        Map<String, DatabaseSchema> schema = new HashMap<>();
-        SettableFuture<Map<String, DatabaseSchema>> future = SettableFuture.create();
-        populateSchema(dbNames, schema, future);
-        return future;
+    @Override
+    public ListenableFuture<Map<String, DatabaseSchema>> getSchemas(final List<String> databases) {
+        Map<String, DatabaseSchema> result = new ConcurrentHashMap<>();
+        List<ListenableFuture<DatabaseSchema>> fetches = new ArrayList<>();
+        for (String database : databases) {
+            DatabaseSchema databaseSchema = schemas.get(database);
+            if (databaseSchema != null) {
+                result.put(database, databaseSchema);
+            } else {
+                // All the schemas are requested at once, parsing is left to the shared cache off the event loop
+                fetches.add(Futures.transform(rpc.get_schema(Collections.singletonList(database)),
+                    (Function<JsonNode, DatabaseSchema>) jsonNode -> {
+                        DatabaseSchema dbSchema = DatabaseSchemaCache.get(database, jsonNode);
+                        schemas.put(database, dbSchema);
+                        result.put(database, dbSchema);
+                        return dbSchema;
+                    }, executorService));
+            }
+        }
+        if (fetches.isEmpty()) {
+            return Futures.immediateFuture(result);
+        }
+        return Futures.transform(Futures.allAsList(fetches),
+            (Function<List<DatabaseSchema>, Map<String, DatabaseSchema>>) fetched -> result,
+            MoreExecutors.directExecutor());
     }
 
-    private void populateSchema(final List<String> dbNames,
-                                 final Map<String, DatabaseSchema> schema,
-                                 final SettableFuture<Map<String, DatabaseSchema>> sfuture) {
+    public void setRpc(OvsdbRPC rpc) {
+        this.rpc = rpc;
+    }
 
-        if (dbNames == null || dbNames.isEmpty()) {
-            return;
+    /*
+     * The callbacks of a lock. They are invoked on the thread handling the reply or notification, which is the
+     * event loop of the connection, like the monitor callbacks.
+     */
+    private static final class LockContext {
+        final String lockId;
+        final LockAquisitionCallback lockedCallBack;
+        final LockStolenCallback stolenCallback;
+        volatile boolean held;
+
+        LockContext(String lockId, LockAquisitionCallback lockedCallBack, LockStolenCallback stolenCallback) {
+            this.lockId = lockId;
+            this.lockedCallBack = lockedCallBack;
+            this.stolenCallback = stolenCallback;
         }
 
-        Futures.transform(rpc.get_schema(Collections.singletonList(dbNames.get(0))),
-            (Function<JsonNode, Void>) jsonNode -> {
-                try {
-                    schema.put(dbNames.get(0), DatabaseSchema.fromJson(dbNames.get(0), jsonNode));
-                    if (schema.size() > 1 && !sfuture.isCancelled()) {
-                        populateSchema(dbNames.subList(1, dbNames.size()), schema, sfuture);
-                    } else if (schema.size() == 1) {
-                        sfuture.set(schema);
-                    }
-                } catch (ParsingException e) {
-                    LOG.warn("Failed to populate schema {}:{}", dbNames, schema, e);
-                    sfuture.setException(e);
-                }
-                return null;
-            });
-    }
+        void acquired() {
+            held = true;
+            LOG.debug("Lock {} acquired", lockId);
+            if (lockedCallBack != null) {
+                lockedCallBack.lockAcquired();
+            }
+        }
 
-    public void setRpc(OvsdbRPC rpc) {
-        this.rpc = rpc;
+        void stolen() {
+            held = false;
+            LOG.info("Lock {} stolen by another client", lockId);
+            if (stolenCallback != null) {
+                stolenCallback.lockStolen();
+            }
+        }
     }
 
     static class CallbackContext {
         MonitorCallBack monitorCallBack;
         DatabaseSchema schema;
+        // Only set for monitor_cond and monitor_cond_since monitors
+        Update2Converter update2Converter;
+        // Only set for monitor_cond_since monitors
+        MonitorHandle monitorHandle;
 
         CallbackContext(MonitorCallBack monitorCallBack, DatabaseSchema schema) {
+            this(monitorCallBack, schema, null);
+        }
+
+        CallbackContext(MonitorCallBack monitorCallBack, DatabaseSchema schema, Update2Converter update2Converter) {
+            this(monitorCallBack, schema, update2Converter, null);
+        }
+
+        CallbackContext(MonitorCallBack monitorCallBack, DatabaseSchema schema, Update2Converter update2Converter,
+                MonitorHandle monitorHandle) {
             this.monitorCallBack = monitorCallBack;
             this.schema = schema;
+            this.update2Converter = update2Converter;
+            this.monitorHandle = monitorHandle;
         }
     }
 
@@ -482,6 +865,11 @@ public class OvsdbClientImpl implements OvsdbClient {
 
     @Override
     public void disconnect() {
+        stopEchoService();
+        TransactCoalescer coalescer = transactCoalescer;
+        if (coalescer != null) {
+            coalescer.flush();
+        }
         channel.disconnect();
         executorService.shutdown();
     }
@@ -8,32 +8,26 @@
 
 package org.opendaylight.ovsdb.lib.impl;
 
-import com.fasterxml.jackson.annotation.JsonInclude.Include;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.string.StringEncoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.util.CharsetUtil;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -61,9 +55,16 @@ import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
 import org.opendaylight.ovsdb.lib.OvsdbConnectionListener;
 import org.opendaylight.ovsdb.lib.jsonrpc.ExceptionHandler;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcDecoder;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEncoder;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcEndpoint;
 import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcServiceBinderHandler;
+import org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcWriteCoalescer;
+import org.opendaylight.ovsdb.lib.jsonrpc.NonBlockingJsonRpcDecoder;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,6 +91,9 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     private static final String OVSDB_RPC_TASK_TIMEOUT_PARAM = "ovsdb-rpc-task-timeout";
     private static final String USE_SSL = "use-ssl";
     private static final int RETRY_PERIOD = 100; // retry after 100 milliseconds
+    private static final int RECV_BUFFER_MIN_SIZE = 512;
+    private static final int RECV_BUFFER_INITIAL_SIZE = 4096;
+    private static final int RECV_BUFFER_MAX_SIZE = 65536;
 
     private static final ScheduledExecutorService EXECUTOR_SERVICE = Executors.newScheduledThreadPool(10,
             new ThreadFactoryBuilder().setNameFormat("OVSDBPassiveConnServ-%d").build());
@@ -110,7 +114,12 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
     private volatile ICertificateManager certManagerSrv;
 
     private volatile int jsonRpcDecoderMaxFrameLength = 100000;
+    private volatile boolean jsonRpcDecoderNonBlocking = false;
+    private volatile boolean jsonRpcWriteCoalescing = false;
+    private volatile int jsonRpcWriteCoalescingMaxMessages = 64;
+    private volatile int jsonRpcWriteCoalescingMaxBytes = 65536;
     private volatile Channel serverChannel;
+    private final SharedEventLoopGroups eventLoopGroups = new SharedEventLoopGroups();
 
     private final AtomicBoolean singletonCreated = new AtomicBoolean(false);
     private volatile String listenerIp = "0.0.0.0";
@@ -138,10 +147,11 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                                final ICertificateManager certificateManagerSrv) {
         try {
             Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(new NioEventLoopGroup());
-            bootstrap.channel(NioSocketChannel.class);
+            bootstrap.group(eventLoopGroups.getWorkerGroup());
+            bootstrap.channel(eventLoopGroups.getTransport().socketChannelClass());
             bootstrap.option(ChannelOption.TCP_NODELAY, true);
-            bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator(65535, 65535, 65535));
+            bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, newRecvByteBufAllocator());
 
             bootstrap.handler(new ChannelInitializer<SocketChannel>() {
                 @Override
@@ -154,13 +164,8 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                         engine.setUseClientMode(true);
                         channel.pipeline().addLast("ssl", new SslHandler(engine));
                     }
-                    channel.pipeline().addLast(
-                            //new LoggingHandler(LogLevel.INFO),
-                            new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength),
-                            new StringEncoder(CharsetUtil.UTF_8),
-                            new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
-                            new ReadTimeoutHandler(READ_TIMEOUT),
-                            new ExceptionHandler(OvsdbConnectionService.this));
+                    //channel.pipeline().addLast(new LoggingHandler(LogLevel.INFO));
+                    addJsonRpcHandlers(channel);
                 }
             });
 
@@ -209,13 +214,37 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         CONNECTION_LISTENERS.remove(listener);
     }
 
+    /*
+     * Read buffers start small and grow (up to 64k) or shrink with the size of what the switch actually sends,
+     * instead of pinning a 64k buffer on every read of every connection.
+     */
+    private static AdaptiveRecvByteBufAllocator newRecvByteBufAllocator() {
+        return new AdaptiveRecvByteBufAllocator(RECV_BUFFER_MIN_SIZE, RECV_BUFFER_INITIAL_SIZE, RECV_BUFFER_MAX_SIZE);
+    }
+
+    private void addJsonRpcHandlers(SocketChannel channel) throws IOException {
+        channel.pipeline().addLast(newJsonRpcDecoder());
+        if (jsonRpcWriteCoalescing) {
+            channel.pipeline().addLast(new JsonRpcWriteCoalescer(jsonRpcWriteCoalescingMaxMessages,
+                    jsonRpcWriteCoalescingMaxBytes));
+        }
+        channel.pipeline().addLast(
+                new JsonRpcEncoder(),
+                new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
+                new ReadTimeoutHandler(READ_TIMEOUT),
+                new ExceptionHandler(OvsdbConnectionService.this));
+    }
+
+    private ByteToMessageDecoder newJsonRpcDecoder() throws IOException {
+        if (jsonRpcDecoderNonBlocking) {
+            return new NonBlockingJsonRpcDecoder(jsonRpcDecoderMaxFrameLength);
+        }
+        return new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength);
+    }
+
     private static OvsdbClient getChannelClient(Channel channel, ConnectionType type,
         SocketConnectionType socketConnType) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.setSerializationInclusion(Include.NON_NULL);
-
-        JsonRpcEndpoint factory = new JsonRpcEndpoint(objectMapper, channel);
+        JsonRpcEndpoint factory = new JsonRpcEndpoint(OvsdbObjectMapper.getObjectMapper(), channel);
         JsonRpcServiceBinderHandler binderHandler = new JsonRpcServiceBinderHandler(factory);
         binderHandler.setContext(channel);
         channel.pipeline().addLast(binderHandler);
@@ -305,12 +334,10 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
      */
     private void ovsdbManagerWithSsl(String ip, int port, final ICertificateManager certificateManagerSrv,
                                             final String[] protocols, final String[] cipherSuites) {
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
         try {
             ServerBootstrap serverBootstrap = new ServerBootstrap();
-            serverBootstrap.group(bossGroup, workerGroup)
-                    .channel(NioServerSocketChannel.class)
+            serverBootstrap.group(eventLoopGroups.getBossGroup(), eventLoopGroups.getWorkerGroup())
+                    .channel(eventLoopGroups.getTransport().serverSocketChannelClass())
                     .option(ChannelOption.SO_BACKLOG, 100)
                     .handler(new LoggingHandler(LogLevel.INFO))
                     .childHandler(new ChannelInitializer<SocketChannel>() {
@@ -340,19 +367,14 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
                                 channel.pipeline().addLast("ssl", new SslHandler(engine));
                             }
 
-                            channel.pipeline().addLast(
-                                 new JsonRpcDecoder(jsonRpcDecoderMaxFrameLength),
-                                 new StringEncoder(CharsetUtil.UTF_8),
-                                 new IdleStateHandler(IDLE_READER_TIMEOUT, 0, 0),
-                                 new ReadTimeoutHandler(READ_TIMEOUT),
-                                 new ExceptionHandler(OvsdbConnectionService.this));
+                            addJsonRpcHandlers(channel);
 
                             handleNewPassiveConnection(channel);
                         }
                     });
-            serverBootstrap.option(ChannelOption.TCP_NODELAY, true);
-            serverBootstrap.option(ChannelOption.RCVBUF_ALLOCATOR,
-                    new AdaptiveRecvByteBufAllocator(65535, 65535, 65535));
+            serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true);
+            serverBootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            serverBootstrap.childOption(ChannelOption.RCVBUF_ALLOCATOR, newRecvByteBufAllocator());
             // Start the server.
             ChannelFuture channelFuture = serverBootstrap.bind(ip, port).sync();
             Channel serverListenChannel = channelFuture.channel();
@@ -361,10 +383,6 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
             serverListenChannel.closeFuture().sync();
         } catch (InterruptedException e) {
             LOG.error("Thread interrupted", e);
-        } finally {
-            // Shut down all event loops to terminate all threads.
-            bossGroup.shutdownGracefully();
-            workerGroup.shutdownGracefully();
         }
     }
 
@@ -500,10 +518,19 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         return CONNECTIONS.keySet();
     }
 
+    /**
+     * Blueprint init method, prepares the state shared by all the OVSDB connections before the first
+     * switch connects.
+     */
+    public void init() {
+        OvsdbObjectMapper.warmUp();
+    }
+
     @Override
     public void close() throws Exception {
         LOG.info("OvsdbConnectionService closed");
         JsonRpcEndpoint.close();
+        eventLoopGroups.shutdown();
     }
 
     @Override
@@ -575,6 +602,120 @@ public class OvsdbConnectionService implements AutoCloseable, OvsdbConnection {
         LOG.info("Json Rpc Decoder Max Frame Length set to : {}", jsonRpcDecoderMaxFrameLength);
     }
 
+    /**
+     * Blueprint property setter method. Blueprint call this method and set the value of json rpc decoder
+     * non-blocking mode to the value configured for config option (json-rpc-decoder-non-blocking) in the
+     * configuration file. When enabled, incoming messages are parsed incrementally as bytes arrive instead
+     * of being framed first and parsed afterwards. This option is only applied to new connections.
+     * @param nonBlocking true to use the non-blocking decoder (default : false)
+     */
+    public void setJsonRpcDecoderNonBlocking(boolean nonBlocking) {
+        jsonRpcDecoderNonBlocking = nonBlocking;
+        LOG.info("Json Rpc Decoder non-blocking mode set to : {}", jsonRpcDecoderNonBlocking);
+    }
+
+    /**
+     * Blueprint property setter method. Enables coalescing of the flushes of outgoing JSON-RPC messages
+     * (config option json-rpc-write-coalescing), so that all the messages written to a channel during one
+     * event loop run are sent with a single flush. This option is only applied to new connections.
+     * @param coalescing true to coalesce writes (default : false)
+     */
+    public void setJsonRpcWriteCoalescing(boolean coalescing) {
+        jsonRpcWriteCoalescing = coalescing;
+        LOG.info("Json Rpc write coalescing set to : {}", jsonRpcWriteCoalescing);
+    }
+
+    /**
+     * Blueprint property setter method. Number of pending messages after which a coalesced batch is
+     * flushed right away (config option json-rpc-write-coalescing-max-messages).
+     * @param maxMessages max messages per batch (default : 64)
+     */
+    public void setJsonRpcWriteCoalescingMaxMessages(int maxMessages) {
+        jsonRpcWriteCoalescingMaxMessages = maxMessages;
+        LOG.info("Json Rpc write coalescing max messages set to : {}", jsonRpcWriteCoalescingMaxMessages);
+    }
+
+    /**
+     * Blueprint property setter method. Number of pending bytes after which a coalesced batch is
+     * flushed right away (config option json-rpc-write-coalescing-max-bytes).
+     * @param maxBytes max bytes per batch (default : 65536)
+     */
+    public void setJsonRpcWriteCoalescingMaxBytes(int maxBytes) {
+        jsonRpcWriteCoalescingMaxBytes = maxBytes;
+        LOG.info("Json Rpc write coalescing max bytes set to : {}", jsonRpcWriteCoalescingMaxBytes);
+    }
+
+    /**
+     * Blueprint property setter method. Number of threads of the event loop group shared by all the
+     * OVSDB connections (config option ovsdb-worker-threads), 0 uses twice the number of cores.
+     * @param threads worker thread count (default : 0)
+     */
+    public void setOvsdbWorkerThreads(int threads) {
+        eventLoopGroups.setWorkerThreads(threads);
+        LOG.info("OVSDB worker threads set to : {}", threads);
+    }
+
+    /**
+     * Blueprint property setter method. Directory the database schemas fetched from the switches are persisted
+     * to, so that they need not be parsed on every connection after a restart (config option
+     * ovsdb-schema-cache-directory). An empty value keeps the schemas in memory only.
+     * @param directory schema cache directory (default : empty)
+     */
+    public void setOvsdbSchemaCacheDirectory(String directory) {
+        DatabaseSchemaCache.setDirectory(directory);
+        LOG.info("OVSDB schema cache directory set to : {}", directory);
+    }
+
+    /**
+     * Blueprint property setter method. Decode the columns of the rows received from the switches only when they
+     * are accessed (config option ovsdb-lazy-row-decoding).
+     * @param lazy whether to decode rows lazily (default : false)
+     */
+    public void setOvsdbLazyRowDecoding(boolean lazy) {
+        TableSchema.setLazyRowDecoding(lazy);
+        LOG.info("OVSDB lazy row decoding set to : {}", lazy);
+    }
+
+    /**
+     * Blueprint property setter method. Share the uuids received from the switches through a weak pool
+     * (config option ovsdb-uuid-interning).
+     * @param interning whether to intern uuids (default : false)
+     */
+    public void setOvsdbUuidInterning(boolean interning) {
+        UUID.setInterning(interning);
+        LOG.info("OVSDB uuid interning set to : {}", interning);
+    }
+
+    /**
+     * Blueprint property setter method. Validate the values of the transactions against the constraints of their
+     * columns (config option ovsdb-schema-validation).
+     * @param validation whether to validate values (default : false)
+     */
+    public void setOvsdbSchemaValidation(boolean validation) {
+        ColumnSchema.setValidation(validation);
+        LOG.info("OVSDB schema validation set to : {}", validation);
+    }
+
+    /**
+     * Returns how the OVSDB connections are spread over the worker event loops, along with the usage of the
+     * pooled buffer allocator they use.
+     *
+     * @return human readable diagnostics
+     */
+    public String getEventLoopDiagnostics() {
+        return eventLoopGroups.getDiagnostics(CONNECTIONS.values());
+    }
+
+    /**
+     * Blueprint property setter method. Netty transport of the OVSDB connections, one of nio, epoll
+     * or io_uring (config option ovsdb-transport). Unavailable transports fall back to nio.
+     * @param transport transport name (default : nio)
+     */
+    public void setOvsdbTransport(String transport) {
+        eventLoopGroups.setTransportName(transport);
+        LOG.info("OVSDB transport set to : {}", transport);
+    }
+
     public void setOvsdbListenerIp(String ip) {
         LOG.info("OVSDB IP for listening connection is set to : {}", ip);
         listenerIp = ip;
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The boss and worker event loop groups shared by the passive listener and all the active OVSDB connections.
+ *
+ * <p>The groups are created on first use with the transport and size configured at that time, later changes
+ * only apply after a restart. All the channels allocate their buffers from the pooled, direct
+ * {@link PooledByteBufAllocator#DEFAULT} allocator.
+ */
+class SharedEventLoopGroups {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedEventLoopGroups.class);
+
+    private String transportName = TransportType.NIO.name();
+    private int workerThreads = 0;
+    private TransportType transport;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+
+    synchronized void setTransportName(String transportName) {
+        this.transportName = transportName;
+        if (transport != null) {
+            LOG.warn("OVSDB transport is already {}, {} takes effect after a restart", transport, transportName);
+        }
+    }
+
+    synchronized void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+        if (transport != null) {
+            LOG.warn("OVSDB worker group is already running, {} threads take effect after a restart", workerThreads);
+        }
+    }
+
+    synchronized TransportType getTransport() {
+        ensureCreated();
+        return transport;
+    }
+
+    synchronized EventLoopGroup getBossGroup() {
+        ensureCreated();
+        return bossGroup;
+    }
+
+    synchronized EventLoopGroup getWorkerGroup() {
+        ensureCreated();
+        return workerGroup;
+    }
+
+    private void ensureCreated() {
+        if (transport != null) {
+            return;
+        }
+        transport = TransportType.select(transportName);
+        // The passive listener is the only server channel, a single acceptor thread is plenty
+        bossGroup = transport.newEventLoopGroup(1, new DefaultThreadFactory("OVSDB-Boss", true));
+        // 0 lets Netty pick its default of twice the number of cores
+        workerGroup = transport.newEventLoopGroup(Math.max(workerThreads, 0),
+                new DefaultThreadFactory("OVSDB-Worker", true));
+    }
+
+    /**
+     * Describes how the given channels are spread over the worker event loops, and the usage of the
+     * buffer pool.
+     *
+     * @param channels the OVSDB channels
+     * @return human readable diagnostics
+     */
+    synchronized String getDiagnostics(Collection<Channel> channels) {
+        StringBuilder sb = new StringBuilder("OVSDB event loops [transport=").append(transport);
+        if (workerGroup != null) {
+            Map<EventLoop, Integer> channelCounts = new IdentityHashMap<>();
+            for (Channel channel : channels) {
+                if (channel.isRegistered()) {
+                    channelCounts.merge(channel.eventLoop(), 1, Integer::sum);
+                }
+            }
+            sb.append(", channels per loop=[");
+            int index = 0;
+            for (EventExecutor loop : workerGroup) {
+                if (index++ > 0) {
+                    sb.append(", ");
+                }
+                sb.append(channelCounts.getOrDefault(loop, 0));
+            }
+            sb.append(']');
+        }
+
+        PooledByteBufAllocatorMetric metric = PooledByteBufAllocator.DEFAULT.metric();
+        sb.append(", usedDirectMemory=").append(metric.usedDirectMemory())
+            .append(", usedHeapMemory=").append(metric.usedHeapMemory())
+            .append(", directArenas=").append(metric.numDirectArenas())
+            .append(", threadLocalCaches=").append(metric.numThreadLocalCaches())
+            .append(']');
+        return sb.toString();
+    }
+
+    synchronized void shutdown() {
+        if (transport == null) {
+            return;
+        }
+        LOG.info("Shutting down the OVSDB event loop groups");
+        bossGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+        workerGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+        transport = null;
+        bossGroup = null;
+        workerGroup = null;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Mutation;
+import org.opendaylight.ovsdb.lib.operations.Insert;
+import org.opendaylight.ovsdb.lib.operations.Mutate;
+import org.opendaylight.ovsdb.lib.operations.Operation;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the transactions submitted to a connection within a short window into a single transact request.
+ *
+ * <p>The operations of the merged transactions are sent in submission order, except that a mutate of the same
+ * rows (same table and conditions) as a later mutate is folded into the later one, provided no other operation on
+ * that table lies in between. Each submitter gets the results of its own operations, in its own order.
+ *
+ * <p>Merging must not change what gets committed. Only transactions made of insert, update, mutate, delete, select
+ * and comment operations are merged; anything else (asserts, waits, commits, aborts) is sent on its own, after
+ * whatever is pending. Transactions inserting rows under a uuid-name already used in the pending batch start a new
+ * batch. If the merged transaction fails, none of it was committed and every transaction of the batch is sent again
+ * on its own, so that each submitter sees the outcome its transaction would have had without merging. Those may
+ * then be committed after transactions submitted later on.
+ */
+class TransactCoalescer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactCoalescer.class);
+    private static final Set<String> MERGEABLE_OPERATIONS = ImmutableSet.of("insert", "update", "mutate", "delete",
+            "select", "comment");
+
+    private final BiFunction<DatabaseSchema, List<Operation>, ListenableFuture<List<OperationResult>>> sender;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxOperations;
+
+    // Guarded by this
+    private Batch pending;
+    private ScheduledFuture<?> scheduledFlush;
+
+    TransactCoalescer(BiFunction<DatabaseSchema, List<Operation>, ListenableFuture<List<OperationResult>>> sender,
+            ScheduledExecutorService scheduler, long windowMillis, int maxOperations) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxOperations = maxOperations;
+    }
+
+    synchronized ListenableFuture<List<OperationResult>> transact(DatabaseSchema dbSchema,
+            List<Operation> operations) {
+        if (!isMergeable(operations)) {
+            // Keep the order of the transactions
+            flush();
+            return sender.apply(dbSchema, operations);
+        }
+        if (pending != null && !pending.accepts(dbSchema, operations)) {
+            flush();
+        }
+        if (pending == null) {
+            pending = new Batch(dbSchema);
+            scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        SettableFuture<List<OperationResult>> future = pending.add(operations);
+        if (pending.operationCount >= maxOperations) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * Sends a transaction which must not be merged with others, after the pending transactions.
+     */
+    synchronized <T> T sendAlone(Supplier<T> send) {
+        flush();
+        return send.get();
+    }
+
+    /**
+     * Sends the pending transactions.
+     */
+    synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Batch batch = pending;
+        pending = null;
+        if (batch == null) {
+            return;
+        }
+        if (batch.submissions.size() == 1) {
+            Submission submission = batch.submissions.get(0);
+            submission.future.setFuture(sender.apply(batch.dbSchema, submission.operations));
+            return;
+        }
+        batch.send();
+    }
+
+    private static boolean isMergeable(List<Operation> operations) {
+        for (Operation operation : operations) {
+            if (!MERGEABLE_OPERATIONS.contains(operation.getOp())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameRows(Mutate<?> mutate, Mutate<?> other) {
+        if (!Objects.equals(mutate.getTable(), other.getTable())
+                || mutate.getWhere().size() != other.getWhere().size()) {
+            return false;
+        }
+        for (int i = 0; i < mutate.getWhere().size(); i++) {
+            Condition condition = mutate.getWhere().get(i);
+            Condition otherCondition = other.getWhere().get(i);
+            if (!Objects.equals(condition.getColumn(), otherCondition.getColumn())
+                    || condition.getFunction() != otherCondition.getFunction()
+                    || !Objects.equals(condition.getValue(), otherCondition.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Submission {
+        final List<Operation> operations;
+        final SettableFuture<List<OperationResult>> future = SettableFuture.create();
+        // Index of the result of each operation in the merged transaction
+        final int[] resultIndexes;
+
+        Submission(List<Operation> operations) {
+            this.operations = operations;
+            this.resultIndexes = new int[operations.size()];
+        }
+    }
+
+    private final class Batch {
+        final DatabaseSchema dbSchema;
+        final List<Submission> submissions = new ArrayList<>();
+        final Set<String> uuidNames = new HashSet<>();
+        int operationCount;
+
+        Batch(DatabaseSchema dbSchema) {
+            this.dbSchema = dbSchema;
+        }
+
+        boolean accepts(DatabaseSchema schema, List<Operation> operations) {
+            if (schema != dbSchema) {
+                return false;
+            }
+            for (Operation operation : operations) {
+                if (operation instanceof Insert && uuidNames.contains(((Insert<?>) operation).getUuidName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        SettableFuture<List<OperationResult>> add(List<Operation> operations) {
+            for (Operation operation : operations) {
+                if (operation instanceof Insert && ((Insert<?>) operation).getUuidName() != null) {
+                    uuidNames.add(((Insert<?>) operation).getUuidName());
+                }
+            }
+            Submission submission = new Submission(operations);
+            submissions.add(submission);
+            operationCount += operations.size();
+            return submission.future;
+        }
+
+        void send() {
+            // The operations of all the transactions, a folded mutate leaves a null slot and points to the slot
+            // of the mutate it was folded into
+            List<Operation> merged = new ArrayList<>(operationCount);
+            List<Integer> foldedInto = new ArrayList<>(operationCount);
+            for (Submission submission : submissions) {
+                for (int i = 0; i < submission.operations.size(); i++) {
+                    Operation operation = submission.operations.get(i);
+                    int earlier = operation instanceof Mutate ? foldable(merged, (Mutate<?>) operation) : -1;
+                    if (earlier >= 0) {
+                        operation = combine((Mutate<?>) merged.get(earlier), (Mutate<?>) operation);
+                        merged.set(earlier, null);
+                        foldedInto.set(earlier, merged.size());
+                    }
+                    submission.resultIndexes[i] = merged.size();
+                    merged.add(operation);
+                    foldedInto.add(-1);
+                }
+            }
+
+            List<Operation> operations = new ArrayList<>(merged.size());
+            int[] positions = new int[merged.size()];
+            for (int slot = 0; slot < merged.size(); slot++) {
+                positions[slot] = operations.size();
+                if (merged.get(slot) != null) {
+                    operations.add(merged.get(slot));
+                }
+            }
+            for (Submission submission : submissions) {
+                for (int i = 0; i < submission.resultIndexes.length; i++) {
+                    int slot = submission.resultIndexes[i];
+                    while (foldedInto.get(slot) >= 0) {
+                        slot = foldedInto.get(slot);
+                    }
+                    submission.resultIndexes[i] = positions[slot];
+                }
+            }
+
+            LOG.debug("Sending {} transactions as one transaction of {} operations", submissions.size(),
+                    operations.size());
+            Futures.addCallback(sender.apply(dbSchema, operations), new FutureCallback<List<OperationResult>>() {
+                @Override
+                public void onSuccess(List<OperationResult> results) {
+                    if (hasError(results)) {
+                        LOG.debug("Merged transaction failed, sending its {} transactions one by one",
+                                submissions.size());
+                        for (Submission submission : submissions) {
+                            submission.future.setFuture(sender.apply(dbSchema, submission.operations));
+                        }
+                        return;
+                    }
+                    for (Submission submission : submissions) {
+                        List<OperationResult> own = new ArrayList<>(submission.resultIndexes.length);
+                        for (int index : submission.resultIndexes) {
+                            own.add(index < results.size() ? results.get(index) : new OperationResult());
+                        }
+                        submission.future.set(own);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    for (Submission submission : submissions) {
+                        submission.future.setException(throwable);
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    /*
+     * Returns the slot of the mutate the given mutate can be folded with: the last operation on the same table,
+     * if it is a mutate of the same rows.
+     */
+    private static int foldable(List<Operation> merged, Mutate<?> mutate) {
+        for (int slot = merged.size() - 1; slot >= 0; slot--) {
+            Operation operation = merged.get(slot);
+            if (operation != null && Objects.equals(operation.getTable(), mutate.getTable())) {
+                return operation instanceof Mutate && sameRows((Mutate<?>) operation, mutate) ? slot : -1;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Mutate<?> combine(Mutate<?> earlier, Mutate<?> later) {
+        Mutate combined = new Mutate(later.getTableSchema());
+        combined.setWhere(new ArrayList<>(later.getWhere()));
+        // Mutations are applied in order, the earlier ones first
+        List<Mutation> mutations = new ArrayList<>(earlier.getMutations());
+        mutations.addAll(later.getMutations());
+        combined.setMutations(mutations);
+        return combined;
+    }
+
+    private static boolean hasError(List<OperationResult> results) {
+        for (OperationResult result : results) {
+            if (result != null && result.getError() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
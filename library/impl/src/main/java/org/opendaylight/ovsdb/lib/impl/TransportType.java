@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transports OVSDB connections can run on.
+ *
+ * <p>NIO is always available. Epoll needs the Linux native library of netty-transport-native-epoll.
+ * io_uring needs the netty incubator io_uring transport, which is not part of the Netty release this
+ * library is built against; it is therefore looked up by name and used only when it is present at runtime.
+ */
+enum TransportType {
+    NIO {
+        @Override
+        Throwable unavailabilityCause() {
+            return null;
+        }
+
+        @Override
+        EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        Class<? extends SocketChannel> socketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+    },
+
+    EPOLL {
+        @Override
+        Throwable unavailabilityCause() {
+            return Epoll.unavailabilityCause();
+        }
+
+        @Override
+        EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        Class<? extends SocketChannel> socketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+    },
+
+    IO_URING {
+        private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+        @Override
+        Throwable unavailabilityCause() {
+            try {
+                return (Throwable) Class.forName(PACKAGE + "IOUring").getMethod("unavailabilityCause").invoke(null);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return e;
+            }
+        }
+
+        @Override
+        EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+            try {
+                return (EventLoopGroup) Class.forName(PACKAGE + "IOUringEventLoopGroup")
+                        .getConstructor(int.class, ThreadFactory.class).newInstance(threads, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create io_uring event loop group", e);
+            }
+        }
+
+        @Override
+        Class<? extends SocketChannel> socketChannelClass() {
+            return load("IOUringSocketChannel", SocketChannel.class);
+        }
+
+        @Override
+        Class<? extends ServerChannel> serverSocketChannelClass() {
+            return load("IOUringServerSocketChannel", ServerChannel.class);
+        }
+
+        private <T> Class<? extends T> load(String name, Class<T> type) {
+            try {
+                return Class.forName(PACKAGE + name).asSubclass(type);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("io_uring transport class " + name + " not found", e);
+            }
+        }
+    };
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransportType.class);
+
+    /**
+     * Returns why this transport cannot be used on this system.
+     *
+     * @return the cause, or null if the transport is available
+     */
+    abstract Throwable unavailabilityCause();
+
+    abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    abstract Class<? extends SocketChannel> socketChannelClass();
+
+    abstract Class<? extends ServerChannel> serverSocketChannelClass();
+
+    boolean isAvailable() {
+        return unavailabilityCause() == null;
+    }
+
+    /**
+     * Resolves the configured transport name ("nio", "epoll" or "io_uring", case insensitive), falling back
+     * to NIO if the name is unknown or the transport is not available on this system.
+     *
+     * @param name configured transport name
+     * @return the transport to use
+     */
+    static TransportType select(String name) {
+        TransportType requested;
+        try {
+            requested = valueOf(String.valueOf(name).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unknown OVSDB transport {}, using {}", name, NIO);
+            return NIO;
+        }
+
+        Throwable cause = requested.unavailabilityCause();
+        if (cause != null) {
+            LOG.warn("OVSDB transport {} is not available, falling back to {}", requested, NIO, cause);
+            return NIO;
+        }
+        LOG.info("Using OVSDB transport {}", requested);
+        return requested;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.opendaylight.ovsdb.lib.schema.BaseType;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.ColumnType;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the &lt;table-updates2&gt; sent for conditional monitors (the result of monitor_cond and the
+ * update2 notifications) into RFC 7047 &lt;table-updates&gt;, so that they go through the same parsing and
+ * reach the same {@link org.opendaylight.ovsdb.lib.MonitorCallBack}s as plain monitor updates.
+ *
+ * <p>update2 only carries the columns which differ from their default on insertion, and only the difference
+ * on modification. The converter therefore keeps the last known value of every monitored row, fills in the
+ * default values and applies the differences to report complete "new" rows and the previous values of
+ * the modified columns as "old", like monitor does.
+
+ * <p>The same conversion applies to the update3 notifications and the result of monitor_cond_since. The converter
+ * of such a monitor outlives the connection, so that a monitor resumed after a reconnect applies the changes the
+ * server sends to the rows known before the connection was lost.
+ */
+class Update2Converter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Update2Converter.class);
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+    private static final String ZERO_UUID = "00000000-0000-0000-0000-000000000000";
+
+    // Monitored columns per table, an empty set stands for all the columns
+    private final Map<String, Set<String>> monitoredColumns;
+    // Last known rows per table and row uuid
+    private final Map<String, Map<String, ObjectNode>> tables = new HashMap<>();
+
+    Update2Converter(Map<String, ? extends Collection<String>> monitoredColumns) {
+        this.monitoredColumns = new HashMap<>();
+        for (Entry<String, ? extends Collection<String>> entry : monitoredColumns.entrySet()) {
+            this.monitoredColumns.put(entry.getKey(),
+                    entry.getValue() == null ? new LinkedHashSet<>() : new LinkedHashSet<>(entry.getValue()));
+        }
+    }
+
+    /**
+     * Converts table updates in update2 format to table updates in update format.
+     *
+     * @param tableUpdates2 the &lt;table-updates2&gt; object
+     * @param dbSchema schema of the monitored database
+     * @return the equivalent &lt;table-updates&gt;, or the input itself if it is not an object
+     */
+    JsonNode toUpdates(JsonNode tableUpdates2, DatabaseSchema dbSchema) {
+        return toUpdates(tableUpdates2, dbSchema, false);
+    }
+
+    /**
+     * Converts table updates in update2 format to table updates in update format.
+     *
+     * <p>A full dump replaces all the rows known so far. The rows which were known but are not part of the
+     * dump any more are reported as deleted, so that a monitor which is re-created after the server lost its
+     * history still leaves the receiver with the current content of the database.
+     *
+     * @param tableUpdates2 the &lt;table-updates2&gt; object
+     * @param dbSchema schema of the monitored database
+     * @param fullDump whether the updates hold all the monitored rows rather than changes
+     * @return the equivalent &lt;table-updates&gt;, or the input itself if it is not an object
+     */
+    synchronized JsonNode toUpdates(JsonNode tableUpdates2, DatabaseSchema dbSchema, boolean fullDump) {
+        if (tableUpdates2 == null || !tableUpdates2.isObject()) {
+            return tableUpdates2;
+        }
+
+        Map<String, Map<String, ObjectNode>> previous = null;
+        if (fullDump && !tables.isEmpty()) {
+            previous = new HashMap<>(tables);
+            tables.clear();
+        }
+
+        ObjectNode tableUpdates = NODE_FACTORY.objectNode();
+        for (Iterator<Entry<String, JsonNode>> itr = tableUpdates2.fields(); itr.hasNext();) {
+            Entry<String, JsonNode> entry = itr.next();
+            String tableName = entry.getKey();
+            TableSchema<?> tableSchema = dbSchema.hasTable(tableName)
+                    ? dbSchema.table(tableName, TableSchema.class) : null;
+            Map<String, ObjectNode> rows = tables.computeIfAbsent(tableName, key -> new HashMap<>());
+            ObjectNode tableUpdate = tableUpdates.putObject(tableName);
+
+            for (Iterator<Entry<String, JsonNode>> rowItr = entry.getValue().fields(); rowItr.hasNext();) {
+                Entry<String, JsonNode> rowEntry = rowItr.next();
+                ObjectNode rowUpdate = toRowUpdate(tableName, tableSchema, rows, rowEntry.getKey(),
+                        rowEntry.getValue());
+                if (rowUpdate != null) {
+                    tableUpdate.set(rowEntry.getKey(), rowUpdate);
+                }
+            }
+        }
+
+        if (previous != null) {
+            reportVanishedRows(previous, tableUpdates);
+        }
+        return tableUpdates;
+    }
+
+    private void reportVanishedRows(Map<String, Map<String, ObjectNode>> previous, ObjectNode tableUpdates) {
+        for (Entry<String, Map<String, ObjectNode>> entry : previous.entrySet()) {
+            Map<String, ObjectNode> rows = tables.getOrDefault(entry.getKey(), Collections.emptyMap());
+            for (Entry<String, ObjectNode> row : entry.getValue().entrySet()) {
+                if (!rows.containsKey(row.getKey())) {
+                    ObjectNode tableUpdate = tableUpdates.has(entry.getKey())
+                            ? (ObjectNode) tableUpdates.get(entry.getKey()) : tableUpdates.putObject(entry.getKey());
+                    tableUpdate.putObject(row.getKey()).set("old", row.getValue());
+                }
+            }
+        }
+    }
+
+    private ObjectNode toRowUpdate(String tableName, TableSchema<?> tableSchema, Map<String, ObjectNode> rows,
+            String uuid, JsonNode rowUpdate2) {
+        Iterator<Entry<String, JsonNode>> fields = rowUpdate2.fields();
+        if (!fields.hasNext()) {
+            return null;
+        }
+        Entry<String, JsonNode> change = fields.next();
+        ObjectNode rowUpdate = NODE_FACTORY.objectNode();
+        switch (change.getKey()) {
+            case "initial":
+            case "insert":
+                ObjectNode inserted = withDefaults(tableName, tableSchema, (ObjectNode) change.getValue());
+                rows.put(uuid, inserted);
+                rowUpdate.set("new", inserted);
+                break;
+
+            case "delete":
+                ObjectNode deleted = rows.remove(uuid);
+                rowUpdate.set("old", deleted != null ? deleted : NODE_FACTORY.objectNode());
+                break;
+
+            case "modify":
+                ObjectNode current = rows.get(uuid);
+                if (current == null) {
+                    LOG.debug("Modification of unknown row {} in {}, reporting the changed columns only",
+                            uuid, tableName);
+                    current = NODE_FACTORY.objectNode();
+                }
+                ObjectNode modified = NODE_FACTORY.objectNode();
+                modified.setAll(current);
+                ObjectNode old = NODE_FACTORY.objectNode();
+                for (Iterator<Entry<String, JsonNode>> itr = change.getValue().fields(); itr.hasNext();) {
+                    Entry<String, JsonNode> diff = itr.next();
+                    JsonNode before = current.get(diff.getKey());
+                    if (before != null) {
+                        old.set(diff.getKey(), before);
+                    }
+                    modified.set(diff.getKey(), applyDiff(columnType(tableSchema, diff.getKey()), before,
+                            diff.getValue()));
+                }
+                rows.put(uuid, modified);
+                rowUpdate.set("old", old);
+                rowUpdate.set("new", modified);
+                break;
+
+            default:
+                LOG.warn("Ignoring unknown row update {} for row {} in {}", change.getKey(), uuid, tableName);
+                return null;
+        }
+        return rowUpdate;
+    }
+
+    private ObjectNode withDefaults(String tableName, TableSchema<?> tableSchema, ObjectNode row) {
+        if (tableSchema == null) {
+            return row;
+        }
+        Set<String> columns = monitoredColumns.get(tableName);
+        if (columns == null || columns.isEmpty()) {
+            columns = tableSchema.getColumns();
+        }
+        for (String column : columns) {
+            if (row.has(column) || column.startsWith("_")) {
+                continue;
+            }
+            ColumnType type = columnType(tableSchema, column);
+            if (type != null) {
+                row.set(column, defaultValue(type));
+            }
+        }
+        return row;
+    }
+
+    private static ColumnType columnType(TableSchema<?> tableSchema, String column) {
+        if (tableSchema == null) {
+            return null;
+        }
+        ColumnSchema<?, ?> columnSchema = tableSchema.column(column);
+        return columnSchema == null ? null : columnSchema.getType();
+    }
+
+    private static JsonNode defaultValue(ColumnType type) {
+        if (type instanceof ColumnType.KeyValuedColumnType) {
+            return datum("map", NODE_FACTORY.arrayNode());
+        }
+        if (type.isMultiValued()) {
+            return datum("set", NODE_FACTORY.arrayNode());
+        }
+        BaseType<?> baseType = type.getBaseType();
+        if (baseType instanceof BaseType.IntegerBaseType) {
+            return NODE_FACTORY.numberNode(0);
+        } else if (baseType instanceof BaseType.RealBaseType) {
+            return NODE_FACTORY.numberNode(0.0);
+        } else if (baseType instanceof BaseType.BooleanBaseType) {
+            return NODE_FACTORY.booleanNode(false);
+        } else if (baseType instanceof BaseType.UuidBaseType) {
+            return NODE_FACTORY.arrayNode().add("uuid").add(ZERO_UUID);
+        }
+        return NODE_FACTORY.textNode("");
+    }
+
+    /**
+     * Applies an update2 column difference: sets get the symmetric difference, maps get new keys added, keys
+     * with an identical value removed and keys with another value replaced, anything else is replaced.
+     */
+    private static JsonNode applyDiff(ColumnType type, JsonNode before, JsonNode diff) {
+        if (before == null || type == null) {
+            return diff;
+        }
+        if (type instanceof ColumnType.KeyValuedColumnType) {
+            Map<JsonNode, JsonNode> map = new LinkedHashMap<>();
+            for (JsonNode pair : elements(before, "map")) {
+                map.put(pair.get(0), pair.get(1));
+            }
+            for (JsonNode pair : elements(diff, "map")) {
+                JsonNode value = map.get(pair.get(0));
+                if (pair.get(1).equals(value)) {
+                    map.remove(pair.get(0));
+                } else {
+                    map.put(pair.get(0), pair.get(1));
+                }
+            }
+            ArrayNode pairs = NODE_FACTORY.arrayNode();
+            map.forEach((key, value) -> pairs.add(NODE_FACTORY.arrayNode().add(key).add(value)));
+            return datum("map", pairs);
+        }
+        if (type.isMultiValued()) {
+            Set<JsonNode> set = new LinkedHashSet<>();
+            elements(before, "set").forEach(set::add);
+            for (JsonNode element : elements(diff, "set")) {
+                if (!set.remove(element)) {
+                    set.add(element);
+                }
+            }
+            ArrayNode atoms = NODE_FACTORY.arrayNode();
+            set.forEach(atoms::add);
+            return datum("set", atoms);
+        }
+        return diff;
+    }
+
+    // The elements of a ["set", [...]] or ["map", [...]] datum; anything else is a set with a single atom
+    private static JsonNode elements(JsonNode datum, String kind) {
+        if (datum.isArray() && datum.size() == 2 && kind.equals(datum.get(0).asText()) && datum.get(1).isArray()) {
+            return datum.get(1);
+        }
+        return NODE_FACTORY.arrayNode().add(datum);
+    }
+
+    private static ArrayNode datum(String kind, ArrayNode elements) {
+        ArrayNode datum = NODE_FACTORY.arrayNode();
+        datum.add(kind);
+        datum.add(elements);
+        return datum;
+    }
+}
@@ -14,19 +14,19 @@ import java.util.List;
 
 public class JsonRpc10Request {
 
-    String id;
+    Object id;
     String method;
     List<Object> params = new ArrayList<>();
 
-    public JsonRpc10Request(String id) {
+    public JsonRpc10Request(Object id) {
         setId(id);
     }
 
-    public String getId() {
+    public Object getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(Object id) {
         this.id = id;
     }
 
@@ -13,19 +13,19 @@ import java.util.List;
 
 public class JsonRpc10Response {
 
-    String id;
+    Object id;
     String error;
     List<Object> result = new ArrayList<>();
 
-    public JsonRpc10Response(String id) {
+    public JsonRpc10Response(Object id) {
         setId(id);
     }
 
-    public String getId() {
+    public Object getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(Object id) {
         this.id = id;
     }
 
@@ -44,4 +44,10 @@ public class JsonRpc10Response {
     public void setResult(List<Object> result) {
         this.result = result;
     }
+
+    @Override
+    public String toString() {
+        return "JsonRpc10Response [id=" + id + ", error=" + error
+                + ", result=" + result + "]";
+    }
 }
@@ -8,20 +8,51 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageEncoder;
-import java.util.List;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.CharsetUtil;
+import java.io.OutputStream;
 
 /**
- * Created with IntelliJ IDEA.
- * User: araveendrann
- * Date: 10/6/13
- * Time: 11:19 PM
- * To change this template use File | Settings | File Templates.
+ * JSON RPC 1.0 encoder which serializes outgoing requests and responses straight into the
+ * channel's (pooled, direct) output buffer through a Jackson generator, without going through
+ * an intermediate String.
+ *
+ * <p>{@link ByteBuf} messages are passed through untouched and {@link CharSequence} messages are
+ * written out as UTF-8 so that pre-serialized JSON can still be sent on the channel.
  */
-public class JsonRpcEncoder extends MessageToMessageEncoder<Object> {
+public class JsonRpcEncoder extends MessageToByteEncoder<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonRpcEncoder() {
+        this(OvsdbObjectMapper.getObjectMapper());
+    }
+
+    public JsonRpcEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return !(msg instanceof ByteBuf);
+    }
+
     @Override
-    protected void encode(ChannelHandlerContext ctx, Object msg, List<Object> out) throws Exception {
+    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+        if (msg instanceof CharSequence) {
+            out.writeCharSequence((CharSequence) msg, CharsetUtil.UTF_8);
+            return;
+        }
 
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                (OutputStream) new ByteBufOutputStream(out), JsonEncoding.UTF8)) {
+            objectMapper.writeValue(generator, msg);
+        }
     }
 }
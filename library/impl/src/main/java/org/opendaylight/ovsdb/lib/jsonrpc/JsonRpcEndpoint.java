@@ -8,51 +8,142 @@
 
 package org.opendaylight.ovsdb.lib.jsonrpc;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
-import com.google.common.reflect.Invokable;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.reflect.Reflection;
 import com.google.common.reflect.TypeToken;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.Channel;
-import java.lang.reflect.InvocationTargetException;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import java.io.IOException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.opendaylight.ovsdb.lib.error.UnexpectedResultException;
 import org.opendaylight.ovsdb.lib.error.UnsupportedArgumentException;
 import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class JsonRpcEndpoint {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonRpcEndpoint.class);
-    private static final int REAPER_THREADS = 3;
+    private static final long REAPER_TICK_MILLIS = 10;
+    private static final int REAPER_TICKS_PER_WHEEL = 1024;
     private static final ThreadFactory FUTURE_REAPER_THREAD_FACTORY = new ThreadFactoryBuilder()
             .setNameFormat("OVSDB-Lib-Future-Reaper-%d")
             .setDaemon(true).build();
-    private static final ScheduledExecutorService FUTURE_REAPER_SERVICE
-            = Executors.newScheduledThreadPool(REAPER_THREADS, FUTURE_REAPER_THREAD_FACTORY);
+    /*
+     * A single timing wheel is shared by all the endpoints: scheduling and cancelling a timeout are O(1) and
+     * lock free, and all the timeouts falling into a tick are expired in one pass of the wheel thread.
+     * HashedWheelTimer instances are heavyweight (one thread each), hence not one per endpoint.
+     */
+    private static final Timer FUTURE_REAPER_TIMER = new HashedWheelTimer(FUTURE_REAPER_THREAD_FACTORY,
+            REAPER_TICK_MILLIS, TimeUnit.MILLISECONDS, REAPER_TICKS_PER_WHEEL);
 
     private static int reaperInterval = 1000;
 
+    /*
+     * Dispatch table for the notifications of OvsdbRPC.Callback, built once. Callbacks are invoked
+     * through the interface rather than by looking up and reflectively invoking the implementation's
+     * methods for every notification, and the parameter types are resolved only once.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Map<String, CallbackDispatcher> CALLBACK_DISPATCHERS = ImmutableMap.of(
+            "update", new CallbackDispatcher("update",
+                (callback, context, param) -> callback.update(context, (UpdateNotification) param)),
+            "update2", new CallbackDispatcher("update2",
+                (callback, context, param) -> callback.update2(context, (UpdateNotification) param)),
+            "update3", new CallbackDispatcher("update3",
+                (callback, context, param) -> callback.update3(context, (UpdateNotification) param)),
+            "locked", new CallbackDispatcher("locked",
+                (callback, context, param) -> callback.locked(context, (List<String>) param)),
+            "stolen", new CallbackDispatcher("stolen",
+                (callback, context, param) -> callback.stolen(context, (List<String>) param)));
+
+    /**
+     * Binds the "result" member of a response to the value type of the future returned by an OvsdbRPC method.
+     * The type is resolved and the reader created once per method, and the result is read straight off the
+     * received tree instead of being converted through an intermediate token buffer.
+     */
+    private static final class ResultBinder {
+        private final ObjectReader reader;
+        // The tree itself is what the caller asked for
+        private final boolean treeResult;
+        // A list of trees, the elements of the received array can be handed out as they are
+        private final boolean treeListResult;
+
+        ResultBinder(ObjectMapper objectMapper, Method method) {
+            TypeToken<?> retType = TypeToken.of(method.getGenericReturnType())
+                    .resolveType(ListenableFuture.class.getTypeParameters()[0]);
+            JavaType javaType = objectMapper.getTypeFactory().constructType(retType.getType());
+            this.reader = objectMapper.readerFor(javaType);
+            this.treeResult = JsonNode.class.isAssignableFrom(javaType.getRawClass());
+            this.treeListResult = javaType.getRawClass().isAssignableFrom(ArrayList.class)
+                    && javaType.getContentType() != null
+                    && JsonNode.class.isAssignableFrom(javaType.getContentType().getRawClass());
+        }
+
+        Object bind(JsonNode result) throws IOException {
+            if (result == null || treeResult) {
+                return result;
+            }
+            if (treeListResult && result.isArray()) {
+                List<JsonNode> list = new ArrayList<>(result.size());
+                result.forEach(list::add);
+                return list;
+            }
+            return reader.readValue(reader.treeAsTokens(result));
+        }
+    }
+
+    @FunctionalInterface
+    private interface CallbackInvoker {
+        void invoke(OvsdbRPC.Callback callback, Object context, Object param);
+    }
+
+    private static final class CallbackDispatcher {
+        private final JavaType paramType;
+        private final CallbackInvoker invoker;
+
+        CallbackDispatcher(String methodName, CallbackInvoker invoker) {
+            this.paramType = TypeFactory.defaultInstance().constructType(
+                    callbackMethod(methodName).getGenericParameterTypes()[1]);
+            this.invoker = invoker;
+        }
+
+        private static Method callbackMethod(String methodName) {
+            for (Method method : OvsdbRPC.Callback.class.getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    return method;
+                }
+            }
+            throw new IllegalStateException("No callback method " + methodName);
+        }
+    }
+
     public static class CallContext {
         Method method;
         JsonRpc10Request request;
         SettableFuture<Object> future;
+        Timeout timeout;
 
         public CallContext(JsonRpc10Request request, Method method, SettableFuture<Object> future) {
             this.method = method;
@@ -71,12 +162,23 @@ public class JsonRpcEndpoint {
         public SettableFuture<Object> getFuture() {
             return future;
         }
+
+        void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
     }
 
     ObjectMapper objectMapper;
     Channel nettyChannel;
-    Map<String, CallContext> methodContext = new ConcurrentHashMap<>();
-    Map<Object, OvsdbRPC.Callback> requestCallbacks = new HashMap<>();
+    // Outstanding calls keyed by request id, guarded by its own monitor
+    private final LongObjectMap<CallContext> methodContext = new LongObjectHashMap<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+    Map<Object, OvsdbRPC.Callback> requestCallbacks = new ConcurrentHashMap<>();
+    private final Map<Method, ResultBinder> resultBinders = new ConcurrentHashMap<>();
+    private final LongAdder completedFutures = new LongAdder();
+    private final LongAdder reapedFutures = new LongAdder();
 
     public JsonRpcEndpoint(ObjectMapper objectMapper, Channel channel) {
         this.objectMapper = objectMapper;
@@ -94,7 +196,8 @@ public class JsonRpcEndpoint {
                 return true;
             }
 
-            JsonRpc10Request request = new JsonRpc10Request(UUID.randomUUID().toString());
+            final long requestId = nextRequestId.incrementAndGet();
+            JsonRpc10Request request = new JsonRpc10Request(requestId);
             request.setMethod(method.getName());
 
             if (args != null && args.length != 0) {
@@ -114,78 +217,85 @@ public class JsonRpcEndpoint {
                 }
             }
 
-            String requestString = objectMapper.writeValueAsString(request);
-            LOG.trace("getClient Request : {}", requestString);
+            LOG.trace("getClient Request : {}", request);
 
             SettableFuture<Object> sf = SettableFuture.create();
-            methodContext.put(request.getId(), new CallContext(request, method, sf));
-            FUTURE_REAPER_SERVICE.schedule(() -> {
-                CallContext cc = methodContext.remove(request.getId());
-                if (cc != null) {
-                    if (cc.getFuture().isDone() || cc.getFuture().isCancelled()) {
-                        return;
+            CallContext callContext = new CallContext(request, method, sf);
+            putCallContext(requestId, callContext);
+            callContext.timeout = FUTURE_REAPER_TIMER.newTimeout(timeout -> reap(requestId),
+                    reaperInterval, TimeUnit.MILLISECONDS);
+
+            nettyChannel.writeAndFlush(request).addListener(writeFuture -> {
+                if (!writeFuture.isSuccess()) {
+                    CallContext cc = removeCallContext(requestId);
+                    if (cc != null) {
+                        cc.cancelTimeout();
+                        cc.getFuture().setException(writeFuture.cause());
                     }
-                    cc.getFuture().cancel(false);
                 }
-            }, reaperInterval, TimeUnit.MILLISECONDS);
-
-            nettyChannel.writeAndFlush(requestString);
+            });
 
             return sf;
         }
         );
     }
 
-    public void processResult(JsonNode response) throws NoSuchMethodException {
+    public void processResult(JsonNode response) {
 
-        LOG.trace("Response : {}", response.toString());
-        CallContext returnCtxt = methodContext.remove(response.get("id").asText());
+        LOG.trace("Response : {}", response);
+        JsonNode id = response.get("id");
+        if (id == null || !id.isIntegralNumber()) {
+            // All our requests carry numeric ids, anything else is not a reply to us
+            LOG.debug("Ignoring response with unexpected id {}", id);
+            return;
+        }
+        CallContext returnCtxt = removeCallContext(id.longValue());
         if (returnCtxt == null) {
             return;
         }
+        returnCtxt.cancelTimeout();
+        completedFutures.increment();
 
         if (ListenableFuture.class == returnCtxt.getMethod().getReturnType()) {
-            TypeToken<?> retType = TypeToken.of(
-                    returnCtxt.getMethod().getGenericReturnType())
-                    .resolveType(ListenableFuture.class.getMethod("get").getGenericReturnType());
-            JavaType javaType =  TypeFactory.defaultInstance().constructType(retType.getType());
+            ResultBinder binder = resultBinders.computeIfAbsent(returnCtxt.getMethod(),
+                method -> new ResultBinder(objectMapper, method));
 
-            JsonNode result = response.get("result");
-            Object result1 = objectMapper.convertValue(result, javaType);
             JsonNode error = response.get("error");
             if (error != null && !error.isNull()) {
-                LOG.error("Error : {}", error.toString());
+                LOG.error("Error : {}", error);
             }
 
-            returnCtxt.getFuture().set(result1);
+            try {
+                returnCtxt.getFuture().set(binder.bind(response.get("result")));
+            } catch (IOException e) {
+                LOG.error("Unable to bind the result of {}", returnCtxt.getRequest().getMethod(), e);
+                returnCtxt.getFuture().setException(e);
+            }
 
         } else {
             throw new UnexpectedResultException("Don't know how to handle this");
         }
     }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
     public void processRequest(Object context, JsonNode requestJson) {
-        JsonRpc10Request request = new JsonRpc10Request(requestJson.get("id").asText());
+        // Keep the id as received, the response must echo it back unchanged
+        JsonRpc10Request request = new JsonRpc10Request(requestJson.get("id"));
         request.setMethod(requestJson.get("method").asText());
         LOG.trace("Request : {} {} {}", requestJson.get("id"), requestJson.get("method"),
                 requestJson.get("params"));
         OvsdbRPC.Callback callback = requestCallbacks.get(context);
         if (callback != null) {
-            Method[] methods = callback.getClass().getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getName().equals(request.getMethod())) {
-                    Class<?>[] parameters = method.getParameterTypes();
-                    JsonNode params = requestJson.get("params");
-                    Object param = objectMapper.convertValue(params, parameters[1]);
-                    try {
-                        Invokable from = Invokable.from(method);
-                        from.setAccessible(true);
-                        from.invoke(callback, context, param);
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.error("Unable to invoke callback {}", method.getName(), e);
-                    }
-                    return;
+            CallbackDispatcher dispatcher = CALLBACK_DISPATCHERS.get(request.getMethod());
+            if (dispatcher != null) {
+                JsonNode params = requestJson.get("params");
+                Object param = objectMapper.convertValue(params, dispatcher.paramType);
+                try {
+                    dispatcher.invoker.invoke(callback, context, param);
+                } catch (RuntimeException e) {
+                    LOG.error("Unable to invoke callback {}", request.getMethod(), e);
                 }
+                return;
             }
         }
 
@@ -194,12 +304,7 @@ public class JsonRpcEndpoint {
         if (request.getMethod().equals("echo")) {
             JsonRpc10Response response = new JsonRpc10Response(request.getId());
             response.setError(null);
-            try {
-                String jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON response {}", response, e);
-            }
+            writeResponse(response);
             return;
         }
 
@@ -207,20 +312,69 @@ public class JsonRpcEndpoint {
         if (request.getMethod().equals("list_dbs")) {
             JsonRpc10Response response = new JsonRpc10Response(request.getId());
             response.setError(null);
-            try {
-                String jsonString = objectMapper.writeValueAsString(response);
-                nettyChannel.writeAndFlush(jsonString);
-            } catch (JsonProcessingException e) {
-                LOG.error("Exception while processing JSON response {}", response, e);
-            }
+            writeResponse(response);
             return;
         }
 
         LOG.error("No handler for Request : {} on {}", requestJson.toString(), context);
     }
 
-    public Map<String, CallContext> getMethodContext() {
-        return methodContext;
+    private void writeResponse(JsonRpc10Response response) {
+        nettyChannel.writeAndFlush(response).addListener(writeFuture -> {
+            if (!writeFuture.isSuccess()) {
+                LOG.error("Exception while processing JSON response {}", response, writeFuture.cause());
+            }
+        });
+    }
+
+    private void putCallContext(long requestId, CallContext callContext) {
+        synchronized (methodContext) {
+            methodContext.put(requestId, callContext);
+        }
+    }
+
+    private CallContext removeCallContext(long requestId) {
+        synchronized (methodContext) {
+            return methodContext.remove(requestId);
+        }
+    }
+
+    private void reap(long requestId) {
+        CallContext cc = removeCallContext(requestId);
+        if (cc != null && cc.getFuture().cancel(false)) {
+            reapedFutures.increment();
+            LOG.debug("Request {} on {} timed out after {} ms", requestId, nettyChannel, reaperInterval);
+        }
+    }
+
+    /**
+     * Returns the number of requests sent on this endpoint which are still waiting for a response.
+     *
+     * @return count of outstanding requests
+     */
+    public int getPendingCallCount() {
+        synchronized (methodContext) {
+            return methodContext.size();
+        }
+    }
+
+    /**
+     * Returns the number of requests on this endpoint which received a response before their timeout.
+     *
+     * @return count of completed futures
+     */
+    public long getCompletedFutureCount() {
+        return completedFutures.sum();
+    }
+
+    /**
+     * Returns the number of requests on this endpoint whose future was cancelled by the reaper because
+     * no response arrived within the configured interval.
+     *
+     * @return count of reaped futures
+     */
+    public long getReapedFutureCount() {
+        return reapedFutures.sum();
     }
 
     public static void setReaperInterval(int interval) {
@@ -229,7 +383,7 @@ public class JsonRpcEndpoint {
     }
 
     public static void close() {
-        LOG.info("Shutting down reaper executor service");
-        FUTURE_REAPER_SERVICE.shutdownNow();
+        LOG.info("Shutting down reaper timer");
+        FUTURE_REAPER_TIMER.stop();
     }
 }
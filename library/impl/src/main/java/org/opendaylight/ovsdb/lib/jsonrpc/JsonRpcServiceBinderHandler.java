@@ -37,15 +37,7 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
         if (msg instanceof JsonNode) {
             JsonNode jsonNode = (JsonNode) msg;
             if (jsonNode.has("result")) {
-                try {
-                    factory.processResult(jsonNode);
-                } catch (NoSuchMethodException e) {
-                     /*
-                       ChannelRead is a method invoked during Netty message receive event.
-                       The only sane thing we can do is to print a meaningful error message.
-                     */
-                    LOG.error("NoSuchMethodException when handling {}", msg, e);
-                }
+                factory.processResult(jsonNode);
             } else if (jsonNode.hasNonNull("method")) {
                 if (jsonNode.has("id") && !Strings.isNullOrEmpty(jsonNode.get("id").asText())) {
                     factory.processRequest(context, jsonNode);
@@ -64,4 +56,11 @@ public class JsonRpcServiceBinderHandler extends ChannelInboundHandlerAdapter {
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         ctx.flush();
     }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        LOG.debug("RPC futures for {} : {} completed, {} reaped, {} pending", ctx.channel(),
+                factory.getCompletedFutureCount(), factory.getReapedFutureCount(), factory.getPendingCallCount());
+        ctx.fireChannelInactive();
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the flushes of encoded JSON-RPC messages on a channel.
+ *
+ * <p>{@link JsonRpcEndpoint} issues a writeAndFlush for every request and reply, which costs one
+ * syscall per message. This handler sits between the {@link JsonRpcEncoder} and the socket (or SSL
+ * handler) and defers the flush to the end of the current event loop run, so that all messages
+ * written during a loop iteration leave in a single batch. A batch is flushed early once it reaches
+ * either the configured number of messages or the configured number of bytes.
+ *
+ * <p>Flushing is the only thing that is deferred, the messages themselves are written in order and
+ * their promises are completed by the transport as usual.
+ */
+public class JsonRpcWriteCoalescer extends ChannelDuplexHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JsonRpcWriteCoalescer.class);
+
+    private final int maxPendingMessages;
+    private final int maxPendingBytes;
+    private final Runnable flushTask;
+
+    // Only accessed from the channel event loop
+    private ChannelHandlerContext ctx;
+    private boolean flushScheduled;
+    private int pendingMessages;
+    private long pendingBytes;
+    private long firstPendingNanos;
+
+    // Statistics, read from arbitrary threads
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedMessages = new LongAdder();
+    private final LongAdder flushedBytes = new LongAdder();
+    private final LongAdder flushLatencyNanos = new LongAdder();
+    private final AtomicLong maxBatchMessages = new AtomicLong();
+    private final AtomicLong maxFlushLatencyNanos = new AtomicLong();
+
+    public JsonRpcWriteCoalescer(int maxPendingMessages, int maxPendingBytes) {
+        this.maxPendingMessages = maxPendingMessages;
+        this.maxPendingBytes = maxPendingBytes;
+        this.flushTask = () -> {
+            flushScheduled = false;
+            flushPending();
+        };
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext context) {
+        this.ctx = context;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext context, Object msg, ChannelPromise promise) {
+        if (pendingMessages == 0) {
+            firstPendingNanos = System.nanoTime();
+        }
+        pendingMessages++;
+        if (msg instanceof ByteBuf) {
+            pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+        context.write(msg, promise);
+
+        if (pendingMessages >= maxPendingMessages || pendingBytes >= maxPendingBytes) {
+            flushPending();
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext context) {
+        if (pendingMessages == 0) {
+            // Nothing of ours to coalesce, e.g. a flush at the end of a read burst
+            context.flush();
+            return;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            context.channel().eventLoop().execute(flushTask);
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext context, ChannelPromise promise) throws Exception {
+        flushPending();
+        context.close(promise);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext context) throws Exception {
+        if (!context.channel().isWritable()) {
+            // Let the transport drain whatever we are holding back
+            flushPending();
+        }
+        context.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext context) throws Exception {
+        LOG.debug("Write coalescing statistics for {} : {}", context.channel(), this);
+        context.fireChannelInactive();
+    }
+
+    private void flushPending() {
+        if (pendingMessages == 0) {
+            return;
+        }
+        long latency = System.nanoTime() - firstPendingNanos;
+        flushes.increment();
+        flushedMessages.add(pendingMessages);
+        flushedBytes.add(pendingBytes);
+        flushLatencyNanos.add(latency);
+        maxBatchMessages.accumulateAndGet(pendingMessages, Math::max);
+        maxFlushLatencyNanos.accumulateAndGet(latency, Math::max);
+
+        pendingMessages = 0;
+        pendingBytes = 0;
+        ctx.flush();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public long getFlushedMessages() {
+        return flushedMessages.sum();
+    }
+
+    public long getFlushedBytes() {
+        return flushedBytes.sum();
+    }
+
+    public long getMaxBatchMessages() {
+        return maxBatchMessages.get();
+    }
+
+    /**
+     * Returns the average number of messages sent per flush.
+     *
+     * @return average batch size, 0 if nothing was flushed yet
+     */
+    public double getAverageBatchMessages() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : (double) flushedMessages.sum() / count;
+    }
+
+    /**
+     * Returns the average time between the first message of a batch being written and the batch being flushed.
+     *
+     * @return average flush latency in nanoseconds, 0 if nothing was flushed yet
+     */
+    public long getAverageFlushLatencyNanos() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : flushLatencyNanos.sum() / count;
+    }
+
+    public long getMaxFlushLatencyNanos() {
+        return maxFlushLatencyNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "JsonRpcWriteCoalescer [flushes=" + getFlushCount() + ", messages=" + getFlushedMessages()
+                + ", bytes=" + getFlushedBytes() + ", avgBatch=" + getAverageBatchMessages()
+                + ", maxBatch=" + getMaxBatchMessages() + ", avgFlushLatencyNanos=" + getAverageFlushLatencyNanos()
+                + ", maxFlushLatencyNanos=" + getMaxFlushLatencyNanos() + "]";
+    }
+}
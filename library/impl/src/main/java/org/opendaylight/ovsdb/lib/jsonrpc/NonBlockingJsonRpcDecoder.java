@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.ByteSourceJsonBootstrapper;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.opendaylight.ovsdb.lib.error.InvalidEncodingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JSON RPC 1.0 compatible decoder built on top of the Jackson non-blocking (async) parser.
+ *
+ * <p>Unlike {@link JsonRpcDecoder}, this decoder does not pre-scan the stream for a balanced set of curly
+ * braces before handing the frame to Jackson. Every chunk received from the channel is fed to the parser
+ * as soon as it arrives, and the resulting tokens are assembled directly into the message model. The bytes
+ * of a partially received message are therefore never retained in the cumulation buffer, which keeps the
+ * memory footprint of very large monitor updates down to the decoded form only.
+ */
+public class NonBlockingJsonRpcDecoder extends ByteToMessageDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NonBlockingJsonRpcDecoder.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    private final int maxFrameLength;
+    //Indicates if the frame limit warning was issued
+    private boolean maxFrameLimitWasReached = false;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Deque<ContainerNode<?>> containers = new ArrayDeque<>();
+    private byte[] chunk = new byte[0];
+
+    private boolean encodingChecked = false;
+    private String fieldName;
+    // Bytes fed to the parser so far, and offset of the first byte of the message in progress, -1 if none
+    private long bytesFed = 0;
+    private long messageStart = -1;
+    private int recordsRead;
+
+    public NonBlockingJsonRpcDecoder(int maxFrameLength) throws IOException {
+        this.maxFrameLength = maxFrameLength;
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf buf, List<Object> out) throws Exception {
+        LOG.trace("readable bytes {}, records read {}, partial record bytes {}",
+                buf.readableBytes(), recordsRead, messageStart < 0 ? 0 : bytesFed - messageStart);
+
+        if (!encodingChecked) {
+            skipSpaces(buf);
+            if (buf.readableBytes() < 4) {
+                return; //wait for more data
+            }
+            checkEncoding(buf);
+            encodingChecked = true;
+        }
+
+        int length = buf.readableBytes();
+        if (length == 0) {
+            return;
+        }
+
+        final byte[] input;
+        final int offset;
+        if (buf.hasArray()) {
+            input = buf.array();
+            offset = buf.arrayOffset() + buf.readerIndex();
+        } else {
+            if (chunk.length < length) {
+                chunk = new byte[length];
+            }
+            buf.getBytes(buf.readerIndex(), chunk, 0, length);
+            input = chunk;
+            offset = 0;
+        }
+        buf.skipBytes(length);
+
+        feeder.feedInput(input, offset, offset + length);
+        bytesFed += length;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            if (containers.isEmpty() && (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)) {
+                // The parser is just past the opening bracket, its token location is not reliable for it
+                messageStart = parser.getCurrentLocation().getByteOffset() - 1;
+            }
+            JsonNode completed = handleToken(token);
+            if (completed != null) {
+                checkFrameLength(parser.getCurrentLocation().getByteOffset() - messageStart);
+                out.add(completed);
+                recordsRead++;
+                messageStart = -1;
+            }
+        }
+        if (messageStart >= 0) {
+            // The part of the message in progress received so far
+            checkFrameLength(bytesFed - messageStart);
+        }
+    }
+
+    /*
+     * See JsonRpcDecoder, the frame limit is only a warning, as we do not wish to "break" in scale
+     * environments. We do not want to issue a log message on every extent of the buffer hence logging
+     * only once.
+     */
+    private void checkFrameLength(long messageBytes) {
+        if (messageBytes >= maxFrameLength && !maxFrameLimitWasReached) {
+            maxFrameLimitWasReached = true;
+            LOG.warn("***** OVSDB Frame limit of {} bytes has been reached! *****", this.maxFrameLength);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the message in progress received so far, 0 if no message is in progress.
+     */
+    long getPartialMessageBytes() {
+        return messageStart < 0 ? 0 : bytesFed - messageStart;
+    }
+
+    boolean isMaxFrameLimitReached() {
+        return maxFrameLimitWasReached;
+    }
+
+    /**
+     * Applies a single token to the message under construction.
+     *
+     * @param token the token returned by the parser
+     * @return the root node if the token completed a top-level JSON value, null otherwise
+     */
+    private JsonNode handleToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                return push(NODE_FACTORY.objectNode());
+            case START_ARRAY:
+                return push(NODE_FACTORY.arrayNode());
+            case END_OBJECT:
+            case END_ARRAY:
+                ContainerNode<?> done = containers.pop();
+                return containers.isEmpty() ? done : null;
+            case FIELD_NAME:
+                fieldName = parser.getCurrentName();
+                return null;
+            case VALUE_STRING:
+                return addValue(NODE_FACTORY.textNode(parser.getText()));
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return addValue(NODE_FACTORY.numberNode(parser.getIntValue()));
+                    case LONG:
+                        return addValue(NODE_FACTORY.numberNode(parser.getLongValue()));
+                    default:
+                        return addValue(NODE_FACTORY.numberNode(parser.getBigIntegerValue()));
+                }
+            case VALUE_NUMBER_FLOAT:
+                return addValue(NODE_FACTORY.numberNode(parser.getDoubleValue()));
+            case VALUE_TRUE:
+                return addValue(NODE_FACTORY.booleanNode(true));
+            case VALUE_FALSE:
+                return addValue(NODE_FACTORY.booleanNode(false));
+            case VALUE_NULL:
+                return addValue(NODE_FACTORY.nullNode());
+            default:
+                LOG.debug("Ignoring unexpected token {}", token);
+                return null;
+        }
+    }
+
+    private JsonNode push(ContainerNode<?> node) {
+        if (!containers.isEmpty()) {
+            attach(node);
+        }
+        containers.push(node);
+        return null;
+    }
+
+    private JsonNode addValue(JsonNode value) {
+        if (containers.isEmpty()) {
+            // JSON-RPC messages are always objects, a bare top-level scalar is not a message
+            LOG.debug("Ignoring top-level JSON value {} outside of a JSON-RPC message", value);
+            return null;
+        }
+        attach(value);
+        return null;
+    }
+
+    private void attach(JsonNode value) {
+        ContainerNode<?> parent = containers.peek();
+        if (parent instanceof ObjectNode) {
+            ((ObjectNode) parent).set(fieldName, value);
+        } else {
+            ((ArrayNode) parent).add(value);
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+        feeder.endOfInput();
+        parser.close();
+    }
+
+    public int getRecordsRead() {
+        return recordsRead;
+    }
+
+    private static void checkEncoding(ByteBuf buf) throws IOException {
+        byte[] buff = new byte[4];
+        buf.getBytes(buf.readerIndex(), buff);
+        IOContext ioContext = new IOContext(new BufferRecycler(), null, false);
+        ByteSourceJsonBootstrapper strapper = new ByteSourceJsonBootstrapper(ioContext, buff, 0, 4);
+        JsonEncoding jsonEncoding = strapper.detectEncoding();
+        if (!JsonEncoding.UTF8.equals(jsonEncoding)) {
+            throw new InvalidEncodingException(jsonEncoding.getJavaName(), "currently only UTF-8 is supported");
+        }
+    }
+
+    private static void skipSpaces(ByteBuf byteBuf) {
+        while (byteBuf.isReadable()) {
+            int ch = byteBuf.getByte(byteBuf.readerIndex()) & 0xFF;
+            if (!(ch == ' ' || ch == '\r' || ch == '\n' || ch == '\t')) {
+                return;
+            } else {
+                byteBuf.readByte(); //move the read index
+            }
+        }
+    }
+}
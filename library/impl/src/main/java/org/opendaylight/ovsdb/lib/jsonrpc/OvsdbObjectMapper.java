@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Mutation;
+import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
+import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.notation.json.ConditionSerializer;
+import org.opendaylight.ovsdb.lib.notation.json.MutationSerializer;
+import org.opendaylight.ovsdb.lib.notation.json.OvsdbMapSerializer;
+import org.opendaylight.ovsdb.lib.notation.json.OvsdbSetSerializer;
+import org.opendaylight.ovsdb.lib.notation.json.RowSerializer;
+import org.opendaylight.ovsdb.lib.notation.json.UUIDSerializer;
+import org.opendaylight.ovsdb.lib.operations.Assert;
+import org.opendaylight.ovsdb.lib.operations.Comment;
+import org.opendaylight.ovsdb.lib.operations.Delete;
+import org.opendaylight.ovsdb.lib.operations.Insert;
+import org.opendaylight.ovsdb.lib.operations.Mutate;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.operations.Select;
+import org.opendaylight.ovsdb.lib.operations.Update;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ObjectMapper} shared by all the OVSDB channels.
+ *
+ * <p>Jackson caches the serializers and deserializers it resolves per mapper, hence a mapper per connection
+ * means every connection (and every reconnect) pays for introspecting the same classes again. The instance
+ * held here is configured once and must not be reconfigured afterwards, ObjectMapper is thread-safe as long
+ * as its configuration is left alone. Use {@link #getReader()} and {@link #getWriter()} to derive
+ * differently configured readers and writers instead.
+ */
+public final class OvsdbObjectMapper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OvsdbObjectMapper.class);
+
+    // Types serialized on every request, resolved eagerly by warmUp()
+    private static final List<Class<?>> SERIALIZED_TYPES = ImmutableList.of(JsonRpc10Request.class,
+            JsonRpc10Response.class, Row.class, OvsdbSet.class, OvsdbMap.class, UUID.class, Condition.class,
+            Mutation.class, Insert.class, Update.class, Mutate.class, Delete.class, Select.class, Assert.class,
+            Comment.class);
+
+    // Types bound from responses and notifications, resolved eagerly by warmUp()
+    private static final List<Class<?>> DESERIALIZED_TYPES = ImmutableList.of(JsonNode.class,
+            UpdateNotification.class, TableUpdates.class, OperationResult.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+    private static final ObjectReader READER = OBJECT_MAPPER.reader();
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writer();
+
+    private OvsdbObjectMapper() {
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ObjectMapper createObjectMapper() {
+        SimpleModule module = new SimpleModule("ovsdb");
+        module.addSerializer(Row.class, new RowSerializer());
+        module.addSerializer((Class) OvsdbSet.class, new OvsdbSetSerializer());
+        module.addSerializer((Class) OvsdbMap.class, new OvsdbMapSerializer());
+        module.addSerializer(UUID.class, new UUIDSerializer());
+        module.addSerializer(Condition.class, new ConditionSerializer());
+        module.addSerializer(Mutation.class, new MutationSerializer());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(Include.NON_NULL);
+        objectMapper.registerModule(module);
+        return objectMapper;
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    public static ObjectReader getReader() {
+        return READER;
+    }
+
+    public static ObjectWriter getWriter() {
+        return WRITER;
+    }
+
+    /**
+     * Resolves the serializers and deserializers of the OVSDB message types up front, so that the first
+     * connections do not pay for the introspection on their event loop.
+     */
+    public static void warmUp() {
+        long start = System.nanoTime();
+        for (Class<?> type : SERIALIZED_TYPES) {
+            if (!OBJECT_MAPPER.canSerialize(type)) {
+                LOG.warn("No serializer available for {}", type);
+            }
+        }
+        for (Class<?> type : DESERIALIZED_TYPES) {
+            if (!OBJECT_MAPPER.canDeserialize(OBJECT_MAPPER.constructType(type))) {
+                LOG.warn("No deserializer available for {}", type);
+            }
+        }
+        LOG.info("OVSDB JSON mapper warmed up in {} us", (System.nanoTime() - start) / 1000);
+    }
+}
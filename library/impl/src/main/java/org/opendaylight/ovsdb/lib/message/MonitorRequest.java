@@ -9,7 +9,9 @@ package org.opendaylight.ovsdb.lib.message;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 import java.util.Set;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 
 /**
  * MonitorRequest.
@@ -22,6 +24,8 @@ public class MonitorRequest {
     @JsonIgnore String tableName;
     Set<String> columns;
     MonitorSelect select;
+    // Only valid for monitor_cond, plain monitor requests must leave it unset
+    List<Condition> where;
 
     public MonitorRequest() {
     }
@@ -51,6 +55,14 @@ public class MonitorRequest {
         this.select = select;
     }
 
+    public List<Condition> getWhere() {
+        return where;
+    }
+
+    public void setWhere(List<Condition> where) {
+        this.where = where;
+    }
+
     public Set<String> getColumns() {
         return columns;
     }
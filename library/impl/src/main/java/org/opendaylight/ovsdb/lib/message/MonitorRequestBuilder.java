@@ -8,9 +8,11 @@
 
 package org.opendaylight.ovsdb.lib.message;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import org.opendaylight.ovsdb.lib.notation.Condition;
 import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
@@ -19,6 +21,7 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
     private final E tableSchema;
     private final Collection<String> columns = new HashSet<>();
     private MonitorSelect select;
+    private List<Condition> where;
 
     public MonitorRequestBuilder(E tableSchema) {
         this.tableSchema = tableSchema;
@@ -50,6 +53,26 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
         return this.columns;
     }
 
+    /**
+     * Restricts the monitored rows to those matching the condition, or any of the other conditions added.
+     * Conditions are only supported by monitor_cond, see
+     * {@link org.opendaylight.ovsdb.lib.OvsdbClient#monitorCond}.
+     */
+    public MonitorRequestBuilder<E> addCondition(Condition condition) {
+        if (where == null) {
+            where = new ArrayList<>();
+        }
+        where.add(condition);
+        return this;
+    }
+
+    public MonitorRequestBuilder<E> addConditions(Collection<Condition> conditions) {
+        for (Condition condition : conditions) {
+            addCondition(condition);
+        }
+        return this;
+    }
+
     public MonitorRequestBuilder<E> with(MonitorSelect what) {
         this.select = what;
         return this;
@@ -58,6 +81,9 @@ public class MonitorRequestBuilder<E extends TableSchema<E>> {
     public MonitorRequest build() {
         MonitorRequest request = new MonitorRequest(tableSchema.getName(), new HashSet<>(this.columns));
         request.setSelect(select == null ? new MonitorSelect() : select);
+        if (where != null) {
+            request.setWhere(new ArrayList<>(where));
+        }
         return request;
     }
 }
@@ -24,6 +24,15 @@ public interface OvsdbRPC {
 
     ListenableFuture<JsonNode> monitor(Params equest);
 
+    // OVSDB 7.x extension, see ovsdb-server(7)
+    ListenableFuture<JsonNode> monitor_cond(Params request);
+
+    // OVSDB 7.x extension, see ovsdb-server(7)
+    ListenableFuture<JsonNode> monitor_cond_change(Params request);
+
+    // OVSDB 7.x extension, see ovsdb-server(7)
+    ListenableFuture<JsonNode> monitor_cond_since(Params request);
+
     ListenableFuture<List<String>> list_dbs();
 
     ListenableFuture<List<JsonNode>> transact(TransactBuilder transact);
@@ -32,11 +41,11 @@ public interface OvsdbRPC {
 
     ListenableFuture<JsonNode> monitor_cancel(Params jsonValue);
 
-    ListenableFuture<Object> lock(List<String> id);
+    ListenableFuture<JsonNode> lock(List<String> id);
 
-    ListenableFuture<Object> steal(List<String> id);
+    ListenableFuture<JsonNode> steal(List<String> id);
 
-    ListenableFuture<Object> unlock(List<String> id);
+    ListenableFuture<JsonNode> unlock(List<String> id);
 
     boolean registerCallback(Callback callback);
 
@@ -44,6 +53,16 @@ public interface OvsdbRPC {
     interface Callback {
         void update(Object context, UpdateNotification upadateNotification);
 
+        // Updates of the monitors created by monitor_cond, in <table-updates2> format. Ignored unless overridden,
+        // for the callbacks written before monitor_cond was supported
+        default void update2(Object context, UpdateNotification updateNotification) {
+        }
+
+        // Updates of the monitors created by monitor_cond_since, in <table-updates2> format with the id of the
+        // transaction which caused them. Ignored unless overridden, like update2
+        default void update3(Object context, UpdateNotification updateNotification) {
+        }
+
         void locked(Object context, List<String> ids);
 
         void stolen(Object context, List<String> ids);
@@ -10,6 +10,7 @@ package org.opendaylight.ovsdb.lib.message;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
 import org.opendaylight.ovsdb.lib.notation.json.Converter.UpdateNotificationConverter;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.slf4j.Logger;
@@ -24,6 +25,8 @@ public class UpdateNotification {
     private DatabaseSchema databaseSchema;
     private TableUpdates update;
     private JsonNode updatesJson;
+    // Only set for update3 notifications
+    private String lastTxnId;
 
     public String getContext() {
         return context;
@@ -33,7 +36,16 @@ public class UpdateNotification {
         this.context = context;
     }
 
+    /**
+     * Returns the updates bound to {@link TableUpdates}. The binding happens on the first call, notifications are
+     * usually consumed through {@link #getUpdates()} and a schema instead.
+     *
+     * @return the table updates
+     */
     public TableUpdates getUpdate() {
+        if (update == null && updatesJson != null) {
+            update = OvsdbObjectMapper.getObjectMapper().convertValue(updatesJson, TableUpdates.class);
+        }
         return update;
     }
 
@@ -54,6 +66,14 @@ public class UpdateNotification {
         return updatesJson;
     }
 
+    public String getLastTxnId() {
+        return lastTxnId;
+    }
+
+    public void setLastTxnId(String lastTxnId) {
+        this.lastTxnId = lastTxnId;
+    }
+
     public DatabaseSchema getDatabaseSchema() {
         return databaseSchema;
     }
@@ -21,8 +21,10 @@ public class Column<E extends TableSchema<E>, D> {
         this.data = data;
     }
 
+    @SuppressWarnings("unchecked")
     public <E extends TableSchema<E>, T> T getData(ColumnSchema<E, T> anotherSchema) {
-        return anotherSchema.validate(data);
+        // Data read from a row is not validated again
+        return (T) data;
     }
 
     public D getData() {
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.notation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+/**
+ * A row which keeps the JSON it was received as and decodes a column the first time it is accessed.
+ *
+ * <p>Decoded columns are held in an array indexed by the column ordinals of the table schema
+ * ({@link TableSchema#getColumnOrdinal(String)}) instead of a map. Columns the table schema does not know about
+ * are ignored, like {@link TableSchema#createRow(ObjectNode)} does. The JSON object must not be modified once the
+ * row is created.
+ *
+ * <p>Listing all the columns, comparing rows and computing their hash codes decodes all the columns.
+ */
+public class LazyRow<E extends TableSchema<E>> extends Row<E> {
+
+    // The schema the ordinals come from, the table schema of the row may be replaced later on
+    private final TableSchema<E> schema;
+    private final ObjectNode rowNode;
+    private final AtomicReferenceArray<Column<E, ?>> decoded;
+
+    public LazyRow(TableSchema<E> tableSchema, ObjectNode rowNode) {
+        super(tableSchema);
+        this.schema = tableSchema;
+        this.rowNode = rowNode;
+        this.decoded = new AtomicReferenceArray<>(tableSchema.getColumnCount());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> Column<E, D> getColumn(ColumnSchema<E, D> columnSchema) {
+        return (Column<E, D>) getColumn(columnSchema.getName());
+    }
+
+    private Column<E, ?> getColumn(String name) {
+        int ordinal = schema.getColumnOrdinal(name);
+        if (ordinal < 0) {
+            return columns.get(name);
+        }
+        if (ordinal >= decoded.length()) {
+            // A column added to the schema after the row was created
+            Column<E, ?> column = columns.get(name);
+            return column != null ? column : decode(name);
+        }
+        Column<E, ?> column = decoded.get(ordinal);
+        if (column == null) {
+            column = decode(name);
+            if (column != null && !decoded.compareAndSet(ordinal, null, column)) {
+                column = decoded.get(ordinal);
+            }
+        }
+        return column;
+    }
+
+    private Column<E, ?> decode(String name) {
+        JsonNode value = rowNode.get(name);
+        if (value == null) {
+            return null;
+        }
+        ColumnSchema<E, Object> columnSchema = schema.column(name, Object.class);
+        return new Column<>(columnSchema, columnSchema.valueFromJson(value));
+    }
+
+    @Override
+    public void addColumn(String columnName, Column<E, ?> data) {
+        int ordinal = schema.getColumnOrdinal(columnName);
+        if (ordinal >= 0 && ordinal < decoded.length()) {
+            decoded.set(ordinal, data);
+        } else {
+            super.addColumn(columnName, data);
+        }
+    }
+
+    @Override
+    protected Map<String, Column<E, ?>> getColumnMap() {
+        Map<String, Column<E, ?>> columnMap = new LinkedHashMap<>();
+        for (Iterator<String> names = rowNode.fieldNames(); names.hasNext();) {
+            String name = names.next();
+            Column<E, ?> column = getColumn(name);
+            if (column != null) {
+                columnMap.put(name, column);
+            }
+        }
+        // Columns added to the row rather than received
+        for (int i = 0; i < decoded.length(); i++) {
+            Column<E, ?> column = decoded.get(i);
+            if (column != null && column.getSchema() != null) {
+                columnMap.putIfAbsent(column.getSchema().getName(), column);
+            }
+        }
+        columns.forEach(columnMap::putIfAbsent);
+        return columnMap;
+    }
+}
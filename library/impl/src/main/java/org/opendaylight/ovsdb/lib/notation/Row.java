@@ -42,7 +42,17 @@ public class Row<E extends TableSchema<E>> {
     }
 
     public Collection<Column<E, ?>> getColumns() {
-        return columns.values();
+        return getColumnMap().values();
+    }
+
+    /**
+     * Returns the columns of this row by name. Rows which do not keep their columns in {@link #columns} override
+     * it, equality and hash codes are based on it.
+     *
+     * @return the columns by name
+     */
+    protected Map<String, Column<E, ?>> getColumnMap() {
+        return columns;
     }
 
     public void addColumn(String columnName, Column<E, ?> data) {
@@ -59,7 +69,7 @@ public class Row<E extends TableSchema<E>> {
 
     @Override
     public String toString() {
-        return "Row [columns=" + columns + "]";
+        return "Row [columns=" + getColumnMap() + "]";
     }
 
     /**
@@ -72,7 +82,8 @@ public class Row<E extends TableSchema<E>> {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((columns == null) ? 0 : columns.hashCode());
+        Map<String, Column<E, ?>> columnMap = getColumnMap();
+        result = prime * result + ((columnMap == null) ? 0 : columnMap.hashCode());
         return result;
     }
 
@@ -90,15 +101,16 @@ public class Row<E extends TableSchema<E>> {
         if (obj == null) {
             return false;
         }
-        if (getClass() != obj.getClass()) {
+        if (!(obj instanceof Row)) {
             return false;
         }
-        Row other = (Row) obj;
-        if (columns == null) {
-            if (other.columns != null) {
+        Map<String, Column<E, ?>> columnMap = getColumnMap();
+        Map<?, ?> otherColumnMap = ((Row<?>) obj).getColumnMap();
+        if (columnMap == null) {
+            if (otherColumnMap != null) {
                 return false;
             }
-        } else if (!columns.equals(other.columns)) {
+        } else if (!columnMap.equals(otherColumnMap)) {
             return false;
         }
         return true;
@@ -9,33 +9,172 @@ package org.opendaylight.ovsdb.lib.notation;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Objects;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDSerializer;
 import org.opendaylight.ovsdb.lib.notation.json.UUIDStringConverter;
 
 /**
  * Handles both uuid and named-uuid.
+ *
+ * <p>A uuid in its canonical, lower case form, as sent by OVSDB servers, is held as two longs. Any other value,
+ * named-uuids in the first place, is held as is. The string form of a uuid is rebuilt when asked for. The hash
+ * code is computed once, and is the one of the string form.
+ *
+ * <p>UUIDs received from the switches are created with {@link #valueOf(String)}, which shares a single instance
+ * between all the references to a given row when interning is enabled ({@link #setInterning(boolean)}).
  */
 @JsonDeserialize(contentConverter = UUIDStringConverter.class)
 @JsonSerialize(using = UUIDSerializer.class)
 public class UUID {
 
-    String val;
+    private static final int LENGTH = 36;
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private static volatile Interner<UUID> interner;
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+    // Whether this is anything else than a uuid in canonical form
+    private final boolean named;
+    // The value when named
+    private final String name;
+    private final int hash;
 
     public UUID(String value) {
-        this.val = value;
+        if (value != null && isCanonical(value)) {
+            mostSigBits = bits(value, 0, 18);
+            leastSigBits = bits(value, 19, LENGTH);
+            named = false;
+            name = null;
+        } else {
+            mostSigBits = 0;
+            leastSigBits = 0;
+            named = true;
+            name = value;
+        }
+        hash = 31 + (value == null ? 0 : value.hashCode());
+    }
+
+    public UUID(long mostSigBits, long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.named = false;
+        this.name = null;
+        int stringHash = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            stringHash = 31 * stringHash + charAt(i);
+        }
+        this.hash = 31 + stringHash;
+    }
+
+    /**
+     * Returns the UUID of the given value, shared with the other references to it if interning is enabled.
+     * Named-uuids are never shared.
+     *
+     * @param value a uuid or a named-uuid
+     * @return the UUID
+     */
+    public static UUID valueOf(String value) {
+        UUID uuid = new UUID(value);
+        Interner<UUID> current = interner;
+        return current != null && !uuid.named ? current.intern(uuid) : uuid;
+    }
+
+    /**
+     * Enables or disables the interning of the UUIDs created with {@link #valueOf(String)}. The pool holds its
+     * UUIDs weakly.
+     *
+     * @param interning whether to intern UUIDs
+     */
+    public static void setInterning(boolean interning) {
+        interner = interning ? Interners.newWeakInterner() : null;
+    }
+
+    /**
+     * Tells whether this is a named-uuid, or any other value which is not a uuid in canonical form.
+     */
+    public boolean isNamed() {
+        return named;
+    }
+
+    /**
+     * Returns the most significant 64 bits of a uuid, 0 for a named-uuid.
+     */
+    public long getMostSignificantBits() {
+        return mostSigBits;
+    }
+
+    /**
+     * Returns the least significant 64 bits of a uuid, 0 for a named-uuid.
+     */
+    public long getLeastSignificantBits() {
+        return leastSigBits;
+    }
+
+    private static boolean isDash(int index) {
+        return index == 8 || index == 13 || index == 18 || index == 23;
+    }
+
+    /*
+     * Tells whether the value is a uuid in canonical, lower case form.
+     */
+    private static boolean isCanonical(CharSequence value) {
+        if (value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char ch = value.charAt(i);
+            if (isDash(i) ? ch != '-' : !(ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bits(CharSequence value, int from, int to) {
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            char ch = value.charAt(i);
+            if (ch != '-') {
+                bits = bits << 4 | (ch <= '9' ? ch - '0' : ch - 'a' + 10);
+            }
+        }
+        return bits;
+    }
+
+    private char charAt(int index) {
+        if (isDash(index)) {
+            return '-';
+        }
+        long bits;
+        int digit;
+        if (index < 18) {
+            bits = mostSigBits;
+            digit = index - (index > 8 ? 1 : 0) - (index > 13 ? 1 : 0);
+        } else {
+            bits = leastSigBits;
+            digit = index - 19 - (index > 23 ? 1 : 0);
+        }
+        return DIGITS[(int) (bits >>> (60 - digit * 4)) & 0xf];
     }
 
     @Override
     public String toString() {
-        return val;
+        if (named) {
+            return name;
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((val == null) ? 0 : val.hashCode());
-        return result;
+        return hash;
     }
 
     @Override
@@ -50,13 +189,7 @@ public class UUID {
             return false;
         }
         UUID other = (UUID) obj;
-        if (val == null) {
-            if (other.val != null) {
-                return false;
-            }
-        } else if (!val.equals(other.val)) {
-            return false;
-        }
-        return true;
+        return hash == other.hash && named == other.named && mostSigBits == other.mostSigBits
+                && leastSigBits == other.leastSigBits && Objects.equals(name, other.name);
     }
 }
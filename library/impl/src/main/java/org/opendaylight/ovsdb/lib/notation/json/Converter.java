@@ -8,11 +8,8 @@
 
 package org.opendaylight.ovsdb.lib.notation.json;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.StdConverter;
-import org.opendaylight.ovsdb.lib.message.TableUpdates;
 import org.opendaylight.ovsdb.lib.message.UpdateNotification;
 import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
 import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
@@ -100,11 +97,15 @@ public final class Converter {
             UpdateNotification un = new UpdateNotification();
             if (node.isArray() && node.size() == 2) {
                 un.setContext(node.get(0).asText());
+                // TableUpdates are bound on demand, off the event loop, see UpdateNotification.getUpdate()
                 un.setUpdates(node.get(1));
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                TableUpdates updates = objectMapper.convertValue(node.get(1), TableUpdates.class);
-                un.setUpdate(updates);
+                return un;
+            }
+            // update3 : [<json-value>, <last-txn-id>, <table-updates2>]
+            if (node.isArray() && node.size() == 3) {
+                un.setContext(node.get(0).asText());
+                un.setLastTxnId(node.get(1).asText());
+                un.setUpdates(node.get(2));
                 return un;
             }
             return null;
@@ -133,7 +134,7 @@ public final class Converter {
 
             if (node.isArray() && node.get(0).isTextual()
                     && ("uuid".equals(node.get(0).asText()) || "named-uuid".equals(node.get(0).asText()))) {
-                return new UUID(node.get(1).asText());
+                return UUID.valueOf(node.get(1).asText());
             }
 
             throw new IllegalArgumentException("not an atom node");
@@ -20,13 +20,22 @@ public class UUIDSerializer extends JsonSerializer<UUID> {
     public void serialize(UUID value, JsonGenerator generator,
         SerializerProvider provider) throws IOException {
         generator.writeStartArray();
-        try {
-            java.util.UUID.fromString(value.toString());
+        if (!value.isNamed() || isUuid(value.toString())) {
             generator.writeString("uuid");
-        } catch (IllegalArgumentException ex) {
+        } else {
             generator.writeString("named-uuid");
         }
         generator.writeString(value.toString());
         generator.writeEndArray();
     }
-}
\ No newline at end of file
+
+    // Values which are not in canonical form are still sent as uuids if they parse as such
+    private static boolean isUuid(String value) {
+        try {
+            java.util.UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
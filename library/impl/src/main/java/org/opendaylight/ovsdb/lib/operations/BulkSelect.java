@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.operations;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.opendaylight.ovsdb.lib.OvsdbClient;
+import org.opendaylight.ovsdb.lib.error.UnexpectedResultException;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads a large table in chunks, each chunk being a transaction of its own, instead of with a single select of
+ * the whole table. The rows of each chunk are handed to a consumer as soon as the chunk is read.
+ *
+ * <p>The chunks are preferably given as conditions, one select per chunk (the rows of a logical switch, a range of
+ * an integer column...), see {@link #byConditions(List, Consumer)}: no response is then larger than a chunk.
+ * They can also be made of a given number of rows picked by _uuid, see {@link #byUuid(int, Consumer)}, which
+ * needs a listing of the whole table first.
+ *
+ * <p>The consumer and the progress listener run on the executor set with {@link #executor(Executor)}.
+ *
+ * <p>The chunks are read in separate transactions, the rows read are not a consistent snapshot of the table. Rows
+ * inserted or deleted while the table is read may be missed. Up to {@link #concurrency(int)} chunks are read at
+ * once; the consumer and the progress listener are never called concurrently, but chunks are delivered in the
+ * order they are read, not in the order they are given.
+ */
+public class BulkSelect {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkSelect.class);
+
+    /**
+     * Gets told how far a bulk select got, after each chunk.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called once a chunk is read and its rows consumed.
+         *
+         * @param chunksRead number of chunks read so far
+         * @param chunkCount number of chunks in total
+         * @param rowsRead number of rows read so far
+         */
+        void onProgress(int chunksRead, int chunkCount, long rowsRead);
+    }
+
+    private final OvsdbClient client;
+    private final DatabaseSchema dbSchema;
+    private final GenericTableSchema tableSchema;
+    private List<String> columns;
+    private int concurrency = 1;
+    private ProgressListener progressListener;
+    private Executor executor = MoreExecutors.directExecutor();
+
+    public BulkSelect(OvsdbClient client, DatabaseSchema dbSchema, GenericTableSchema tableSchema) {
+        this.client = client;
+        this.dbSchema = dbSchema;
+        this.tableSchema = tableSchema;
+        this.columns = new ArrayList<>(tableSchema.getColumns());
+    }
+
+    /**
+     * Selects the given columns only, all the columns of the table are selected otherwise.
+     */
+    public BulkSelect columns(List<String> selectedColumns) {
+        this.columns = new ArrayList<>(selectedColumns);
+        return this;
+    }
+
+    /**
+     * Sets how many chunks may be read at once, 1 by default.
+     */
+    public BulkSelect concurrency(int chunksInFlight) {
+        Preconditions.checkArgument(chunksInFlight > 0, "Concurrency must be positive: %s", chunksInFlight);
+        this.concurrency = chunksInFlight;
+        return this;
+    }
+
+    public BulkSelect progress(ProgressListener listener) {
+        this.progressListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the executor running the consumer and the progress listener. By default they run on the thread which
+     * completes the transactions, an executor of the connection for clients which do not complete them on their
+     * I/O thread.
+     */
+    public BulkSelect executor(Executor callbackExecutor) {
+        this.executor = Preconditions.checkNotNull(callbackExecutor);
+        return this;
+    }
+
+    /**
+     * Reads the rows matching each of the given conditions, one chunk per list of conditions.
+     *
+     * @param chunkConditions the conditions of every chunk, the conditions of a chunk must all hold
+     * @param consumer receives the rows of each chunk
+     * @return the number of rows read; fails, and stops reading further chunks, as soon as a chunk fails
+     */
+    public ListenableFuture<Long> byConditions(List<List<Condition>> chunkConditions,
+            Consumer<List<Row<GenericTableSchema>>> consumer) {
+        return new Run(Lists.transform(chunkConditions,
+            conditions -> Collections.singletonList(select(conditions))), consumer).start();
+    }
+
+    /**
+     * Reads the whole table, in chunks of the given number of rows.
+     *
+     * <p>OVSDB only compares uuids for equality, so the _uuid of every row is first listed with a single select,
+     * then each row of a chunk is selected by its _uuid. The size of the listing is not bounded by the chunk
+     * size: it takes about 50 bytes per row, some 10 MB for a table of 200k rows, well above the default
+     * json-rpc-decoder-max-frame-length. Large tables are better read {@link #byConditions(List, Consumer)}.
+     *
+     * @param chunkSize number of rows per chunk
+     * @param consumer receives the rows of each chunk
+     * @return the number of rows read; fails, and stops reading further chunks, as soon as a chunk fails
+     */
+    public ListenableFuture<Long> byUuid(int chunkSize, Consumer<List<Row<GenericTableSchema>>> consumer) {
+        Preconditions.checkArgument(chunkSize > 0, "Chunk size must be positive: %s", chunkSize);
+        ColumnSchema<GenericTableSchema, UUID> uuidColumn = tableSchema.column("_uuid", UUID.class);
+        List<UUID> uuids = new ArrayList<>();
+        Select<GenericTableSchema> listing = new Select<>(tableSchema);
+        listing.setColumns(new ArrayList<>(Collections.singletonList(uuidColumn.getName())));
+        ListenableFuture<List<OperationResult>> listed = client.transact(dbSchema,
+                Collections.singletonList(listing), (row, index) -> {
+                    Column<GenericTableSchema, UUID> column = row.getColumn(uuidColumn);
+                    if (column != null) {
+                        uuids.add(column.getData());
+                    }
+                });
+        return Futures.transformAsync(listed, results -> {
+            checkResults(results);
+            LOG.debug("Reading {} rows of {} in chunks of {}", uuids.size(), tableSchema.getName(), chunkSize);
+            return new Run(Lists.transform(Lists.partition(uuids, chunkSize), chunk -> {
+                List<Operation> selects = new ArrayList<>(chunk.size());
+                for (UUID uuid : chunk) {
+                    selects.add(select(Collections.singletonList(new Condition(uuidColumn.getName(),
+                            Function.EQUALS, uuid))));
+                }
+                return selects;
+            }), consumer).start();
+        }, MoreExecutors.directExecutor());
+    }
+
+    private Select<GenericTableSchema> select(List<Condition> conditions) {
+        Select<GenericTableSchema> select = new Select<>(tableSchema);
+        select.setColumns(columns);
+        select.setWhere(new ArrayList<>(conditions));
+        return select;
+    }
+
+    private static void checkResults(List<OperationResult> results) {
+        for (OperationResult result : results) {
+            if (result != null && result.getError() != null) {
+                throw new UnexpectedResultException("Select failed: " + result.getError() + " "
+                        + result.getDetails());
+            }
+        }
+    }
+
+    /*
+     * A single read of the chunks, keeping up to concurrency chunks in flight.
+     */
+    private final class Run {
+        private final List<List<Operation>> chunks;
+        private final Consumer<List<Row<GenericTableSchema>>> consumer;
+        private final SettableFuture<Long> result = SettableFuture.create();
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        // Guarded by this
+        private int chunksRead;
+        private long rowsRead;
+
+        Run(List<List<Operation>> chunks, Consumer<List<Row<GenericTableSchema>>> consumer) {
+            this.chunks = chunks;
+            this.consumer = consumer;
+        }
+
+        ListenableFuture<Long> start() {
+            if (chunks.isEmpty()) {
+                result.set(0L);
+            }
+            for (int i = 0; i < Math.min(concurrency, chunks.size()); i++) {
+                readNext();
+            }
+            return result;
+        }
+
+        private void readNext() {
+            int index = nextChunk.getAndIncrement();
+            if (index >= chunks.size() || result.isDone()) {
+                return;
+            }
+            List<Row<GenericTableSchema>> rows = new ArrayList<>();
+            // Never merged with other transactions, which keeps chunks bounded
+            Futures.addCallback(client.transact(dbSchema, chunks.get(index), (row, operation) -> rows.add(row)),
+                    new FutureCallback<List<OperationResult>>() {
+                        @Override
+                        public void onSuccess(List<OperationResult> results) {
+                            if (chunkRead(results, rows)) {
+                                readNext();
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable throwable) {
+                            result.setException(throwable);
+                        }
+                    }, executor);
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private synchronized boolean chunkRead(List<OperationResult> results, List<Row<GenericTableSchema>> rows) {
+            if (result.isDone()) {
+                return false;
+            }
+            try {
+                checkResults(results);
+                consumer.accept(rows);
+                chunksRead++;
+                rowsRead += rows.size();
+                if (progressListener != null) {
+                    progressListener.onProgress(chunksRead, chunks.size(), rowsRead);
+                }
+            } catch (RuntimeException e) {
+                result.setException(e);
+                return false;
+            }
+            if (chunksRead == chunks.size()) {
+                result.set(rowsRead);
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -7,7 +7,6 @@
  */
 package org.opendaylight.ovsdb.lib.operations;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
 import java.util.List;
 import org.opendaylight.ovsdb.lib.notation.Condition;
@@ -31,10 +30,12 @@ public class Mutate<E extends TableSchema<E>> extends Operation<E> implements Co
         super(schema, MUTATE);
     }
 
-    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_NO_SIDE_EFFECT") // validate call below
     public <T extends TableSchema<T>, D> Mutate<E> addMutation(ColumnSchema<T, D> columnSchema,
                                                                Mutator mutator, D value) {
-        columnSchema.validate(value);
+        // Arithmetic mutators take operands rather than column values
+        if (mutator == Mutator.INSERT || mutator == Mutator.DELETE) {
+            columnSchema.validateElements(value);
+        }
         Object untypedValue = columnSchema.getNormalizeData(value);
         mutations.add(new Mutation(columnSchema.getName(), mutator, untypedValue));
         return this;
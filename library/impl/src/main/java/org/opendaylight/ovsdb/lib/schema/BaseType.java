@@ -498,7 +498,7 @@ public abstract class BaseType<E extends BaseType<E>> {
         public Object toValue(JsonNode value) {
             if (value.isArray()) {
                 if (value.size() == 2 && value.get(0).isTextual() && "uuid".equals(value.get(0).asText())) {
-                    return new UUID(value.get(1).asText());
+                    return UUID.valueOf(value.get(1).asText());
                 }
             } else {
                 /*
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.util.Map;
 import java.util.Set;
 import org.opendaylight.ovsdb.lib.error.BadSchemaException;
+import org.opendaylight.ovsdb.lib.error.ColumnValidationException;
 import org.opendaylight.ovsdb.lib.notation.Condition;
 import org.opendaylight.ovsdb.lib.notation.Function;
 import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
@@ -19,8 +20,12 @@ import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
 
 
 public class ColumnSchema<E extends TableSchema<E>, D> {
+    private static volatile boolean validation = false;
+
     String name;
     ColumnType type;
+    // Compiled on first use
+    private volatile ColumnValidator validator;
 
     public ColumnSchema(String name, ColumnType columnType) {
         this.name = name;
@@ -119,14 +124,48 @@ public class ColumnSchema<E extends TableSchema<E>, D> {
     }
 
     /**
-     * Validates the passed in value against the constraints set for this ColumnSchema.
+     * Enables or disables the validation of the values set or mutated by transactions against the constraints of
+     * their columns. The rows received from the switches are never validated.
+     *
+     * @param enabled whether to validate values
+     */
+    public static void setValidation(boolean enabled) {
+        validation = enabled;
+    }
+
+    /**
+     * Validates the passed in value against the constraints set for this ColumnSchema, if validation is enabled.
+     *
+     * @throws ColumnValidationException if the value does not meet the constraints
      */
     public D validate(Object value) {
-        //todo(type check and validate based on constraints set)
-        this.type.validate(value);
+        if (validation) {
+            validator().validate(name, value);
+        }
         return (D) value;
     }
 
+    /**
+     * Validates the elements a mutation inserts in or deletes from this column, if validation is enabled.
+     *
+     * @throws ColumnValidationException if an element does not meet the constraints
+     */
+    public void validateElements(Object value) {
+        if (validation) {
+            validator().validateElements(name, value);
+        }
+    }
+
+    private ColumnValidator validator() {
+        ColumnValidator compiled = validator;
+        if (compiled == null) {
+            // Compiling twice at worst
+            compiled = ColumnValidator.compile(type);
+            validator = compiled;
+        }
+        return compiled;
+    }
+
     /**
      * Verifies if this Column if of the specified type.
      * @param typeClass the type to check for
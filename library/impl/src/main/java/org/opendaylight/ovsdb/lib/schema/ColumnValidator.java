@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.ovsdb.lib.error.ColumnValidationException;
+import org.opendaylight.ovsdb.lib.schema.BaseType.IntegerBaseType;
+import org.opendaylight.ovsdb.lib.schema.BaseType.RealBaseType;
+import org.opendaylight.ovsdb.lib.schema.BaseType.StringBaseType;
+import org.opendaylight.ovsdb.lib.schema.ColumnType.KeyValuedColumnType;
+
+/**
+ * The constraints of a column type, compiled into primitive ranges, sorted primitive enums and perfect hash
+ * tables of string enums. Validating a value does not allocate anything, apart from the iterators over the
+ * elements of sets and maps, and only when their elements are constrained.
+ *
+ * <p>Only the values of the expected Java type are checked against the constraints of a base type: a value which
+ * is not a number for an integer column, for instance, is let through, as it was before validation was done.
+ */
+final class ColumnValidator {
+
+    private static final AtomValidator ANY = (column, atom) -> { };
+
+    private final long min;
+    private final long max;
+    private final boolean keyed;
+    private final AtomValidator keys;
+    private final AtomValidator atoms;
+
+    @FunctionalInterface
+    private interface AtomValidator {
+        void validate(String column, Object atom);
+    }
+
+    private ColumnValidator(long min, long max, AtomValidator keys, AtomValidator atoms) {
+        this.min = min;
+        this.max = max;
+        this.keyed = keys != null;
+        this.keys = keys != null ? keys : ANY;
+        this.atoms = atoms;
+    }
+
+    static ColumnValidator compile(ColumnType type) {
+        AtomValidator keys = type instanceof KeyValuedColumnType
+                ? compile(((KeyValuedColumnType) type).getKeyType()) : null;
+        return new ColumnValidator(type.getMin(), type.getMax(), keys, compile(type.getBaseType()));
+    }
+
+    /**
+     * Validates a whole column value: its atoms, and its number of elements if it is a set or a map.
+     */
+    void validate(String column, Object value) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            checkSize(column, map.size());
+            if (keys != ANY || atoms != ANY) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    keys.validate(column, entry.getKey());
+                    atoms.validate(column, entry.getValue());
+                }
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> elements = (Collection<?>) value;
+            checkSize(column, elements.size());
+            validateAll(column, elements, atoms);
+        } else if (value != null) {
+            atoms.validate(column, value);
+        }
+    }
+
+    /**
+     * Validates the elements inserted in or deleted from a set or a map by a mutation. The number of elements of
+     * the column is only known once the mutation is applied, it is not checked.
+     */
+    void validateElements(String column, Object value) {
+        if (value instanceof Map) {
+            validate(column, value);
+        } else if (value instanceof Collection) {
+            // Map entries are deleted by key
+            validateAll(column, (Collection<?>) value, keyed ? keys : atoms);
+        } else if (value != null) {
+            (keyed ? keys : atoms).validate(column, value);
+        }
+    }
+
+    private static void validateAll(String column, Collection<?> elements, AtomValidator validator) {
+        if (validator != ANY) {
+            for (Object element : elements) {
+                validator.validate(column, element);
+            }
+        }
+    }
+
+    private void checkSize(String column, int size) {
+        if (size < min || size > max) {
+            throw new ColumnValidationException("Column " + column + " takes " + min + " to "
+                    + (max == Long.MAX_VALUE ? "unlimited" : String.valueOf(max)) + " elements, got " + size);
+        }
+    }
+
+    private static AtomValidator compile(BaseType<?> baseType) {
+        if (baseType instanceof IntegerBaseType) {
+            IntegerBaseType integerType = (IntegerBaseType) baseType;
+            long[] enums = integerType.getEnums() == null ? null
+                    : integerType.getEnums().stream().mapToLong(Integer::longValue).sorted().toArray();
+            if (enums == null && integerType.getMin() == Long.MIN_VALUE && integerType.getMax() == Long.MAX_VALUE) {
+                return ANY;
+            }
+            return new IntegerValidator(integerType.getMin(), integerType.getMax(), enums);
+        } else if (baseType instanceof RealBaseType) {
+            RealBaseType realType = (RealBaseType) baseType;
+            double[] enums = realType.getEnums() == null ? null
+                    : realType.getEnums().stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            // Double.MIN_VALUE is the default minimum, it stands for no minimum
+            double realMin = realType.getMin() == Double.MIN_VALUE ? -Double.MAX_VALUE : realType.getMin();
+            if (enums == null && realMin == -Double.MAX_VALUE && realType.getMax() == Double.MAX_VALUE) {
+                return ANY;
+            }
+            return new RealValidator(realMin, realType.getMax(), enums);
+        } else if (baseType instanceof StringBaseType) {
+            StringBaseType stringType = (StringBaseType) baseType;
+            StringEnum enums = stringType.getEnums() == null ? null : new StringEnum(stringType.getEnums());
+            if (enums == null && stringType.getMinLength() <= 0 && stringType.getMaxLength() == Integer.MAX_VALUE) {
+                return ANY;
+            }
+            return new StringValidator(stringType.getMinLength(), stringType.getMaxLength(), enums);
+        }
+        return ANY;
+    }
+
+    private static final class IntegerValidator implements AtomValidator {
+        private final long min;
+        private final long max;
+        private final long[] enums;
+
+        IntegerValidator(long min, long max, long[] enums) {
+            this.min = min;
+            this.max = max;
+            this.enums = enums;
+        }
+
+        @Override
+        public void validate(String column, Object atom) {
+            if (!(atom instanceof Number)) {
+                return;
+            }
+            long value = ((Number) atom).longValue();
+            if (value < min || value > max) {
+                throw new ColumnValidationException("Column " + column + " takes integers from " + min + " to "
+                        + max + ", got " + value);
+            }
+            if (enums != null && Arrays.binarySearch(enums, value) < 0) {
+                throw new ColumnValidationException("Column " + column + " takes one of " + Arrays.toString(enums)
+                        + ", got " + value);
+            }
+        }
+    }
+
+    private static final class RealValidator implements AtomValidator {
+        private final double min;
+        private final double max;
+        private final double[] enums;
+
+        RealValidator(double min, double max, double[] enums) {
+            this.min = min;
+            this.max = max;
+            this.enums = enums;
+        }
+
+        @Override
+        public void validate(String column, Object atom) {
+            if (!(atom instanceof Number)) {
+                return;
+            }
+            double value = ((Number) atom).doubleValue();
+            if (value < min || value > max) {
+                throw new ColumnValidationException("Column " + column + " takes reals from " + min + " to "
+                        + max + ", got " + value);
+            }
+            if (enums != null && Arrays.binarySearch(enums, value) < 0) {
+                throw new ColumnValidationException("Column " + column + " takes one of " + Arrays.toString(enums)
+                        + ", got " + value);
+            }
+        }
+    }
+
+    private static final class StringValidator implements AtomValidator {
+        private final int minLength;
+        private final int maxLength;
+        private final StringEnum enums;
+
+        StringValidator(int minLength, int maxLength, StringEnum enums) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.enums = enums;
+        }
+
+        @Override
+        public void validate(String column, Object atom) {
+            if (!(atom instanceof String)) {
+                return;
+            }
+            String value = (String) atom;
+            if (enums != null && !enums.contains(value)) {
+                throw new ColumnValidationException("Column " + column + " takes one of " + enums + ", got "
+                        + value);
+            }
+            // Lengths are counted in UTF-8 bytes, which are at least as many as chars
+            if (value.length() > maxLength || minLength > 0 && value.length() < minLength) {
+                int length = utf8Length(value);
+                if (length < minLength || length > maxLength) {
+                    throw new ColumnValidationException("Column " + column + " takes strings of " + minLength
+                            + " to " + maxLength + " bytes, got " + value);
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch < 0x80) {
+                    length++;
+                } else if (ch < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(ch)) {
+                    // A surrogate pair, 4 bytes for 2 chars
+                    length += 4;
+                    i++;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+    }
+
+    /*
+     * A set of strings held in an open-addressed table, sized so that no two strings share a slot whenever such a
+     * size can be found, in which case looking a string up takes a single probe.
+     */
+    private static final class StringEnum {
+        private static final int MAX_TABLE_SIZE = 1 << 16;
+
+        private final String[] table;
+        private final int mask;
+
+        StringEnum(Set<String> values) {
+            int size = Integer.highestOneBit(Math.max(1, values.size() * 2 - 1)) << 1;
+            while (size < MAX_TABLE_SIZE && !collisionFree(values, size)) {
+                size <<= 1;
+            }
+            table = new String[size];
+            mask = size - 1;
+            for (String value : values) {
+                int slot = slot(value);
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+
+        private static boolean collisionFree(Set<String> values, int size) {
+            boolean[] used = new boolean[size];
+            for (String value : values) {
+                int slot = spread(value.hashCode()) & (size - 1);
+                if (used[slot]) {
+                    return false;
+                }
+                used[slot] = true;
+            }
+            return true;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private int slot(String value) {
+            return spread(value.hashCode()) & mask;
+        }
+
+        boolean contains(String value) {
+            for (int slot = slot(value); table[slot] != null; slot = (slot + 1) & mask) {
+                if (table[slot].equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("[");
+            for (String value : table) {
+                if (value != null) {
+                    builder.append(builder.length() > 1 ? ", " : "").append(value);
+                }
+            }
+            return builder.append(']').toString();
+        }
+    }
+}
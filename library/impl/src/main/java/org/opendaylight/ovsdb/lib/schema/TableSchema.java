@@ -18,8 +18,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.ovsdb.lib.message.TableUpdate;
 import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.LazyRow;
 import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.operations.Insert;
@@ -29,8 +31,12 @@ import org.opendaylight.ovsdb.lib.schema.ColumnType.AtomicColumnType;
 
 public abstract class TableSchema<E extends TableSchema<E>> {
 
+    private static volatile boolean lazyRowDecoding = false;
+
     private String name;
     private Map<String, ColumnSchema> columns;
+    // Ordinals of the columns, assigned on first use and never changed afterwards
+    private final Map<String, Integer> columnOrdinals = new ConcurrentHashMap<>();
 
     public TableSchema() {
     }
@@ -56,6 +62,30 @@ public abstract class TableSchema<E extends TableSchema<E>> {
         return this.getColumns().contains(column);
     }
 
+    /**
+     * Returns the ordinal of a column, for rows which keep their columns in arrays rather than maps. The ordinals
+     * of a table schema are stable and lower than {@link #getColumnCount()} at the time they are assigned.
+     *
+     * @param column the column name
+     * @return the ordinal, -1 if the table has no such column
+     */
+    public int getColumnOrdinal(String column) {
+        Integer ordinal = columnOrdinals.get(column);
+        if (ordinal == null) {
+            if (!hasColumn(column)) {
+                return -1;
+            }
+            synchronized (columnOrdinals) {
+                ordinal = columnOrdinals.computeIfAbsent(column, key -> columnOrdinals.size());
+            }
+        }
+        return ordinal;
+    }
+
+    public int getColumnCount() {
+        return columns == null ? 0 : columns.size();
+    }
+
 
     public ColumnType getColumnType(String column) {
         return this.columns.get(column).getType();
@@ -131,12 +161,26 @@ public abstract class TableSchema<E extends TableSchema<E>> {
             Row<E> newRow = newObjectNode != null ? createRow(newObjectNode) : null;
             Row<E> oldRow = oldObjectNode != null ? createRow(oldObjectNode) : null;
 
-            tableUpdate.addRow(new UUID(uuid), oldRow, newRow);
+            tableUpdate.addRow(UUID.valueOf(uuid), oldRow, newRow);
         }
         return tableUpdate;
     }
 
+    /**
+     * Selects how {@link #createRow(ObjectNode)} builds rows. Lazily decoded rows keep the JSON of the row and
+     * only decode the columns which are accessed, which saves most of the decoding of wide tables when only a few
+     * columns are used. Values which cannot be decoded then fail on access rather than on creation.
+     *
+     * @param lazy true to create {@link LazyRow}s, false to decode all the columns up front
+     */
+    public static void setLazyRowDecoding(boolean lazy) {
+        lazyRowDecoding = lazy;
+    }
+
     public Row<E> createRow(ObjectNode rowNode) {
+        if (lazyRowDecoding) {
+            return new LazyRow<>(this, rowNode);
+        }
         List<Column<E, ?>> newColumns = new ArrayList<>();
         for (Iterator<Map.Entry<String, JsonNode>> iter = rowNode.fields(); iter.hasNext();) {
             Map.Entry<String, JsonNode> next = iter.next();
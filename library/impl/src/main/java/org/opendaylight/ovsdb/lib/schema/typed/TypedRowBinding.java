@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema.typed;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.ovsdb.lib.error.ColumnSchemaNotFoundException;
+import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
+import org.opendaylight.ovsdb.lib.error.TyperException;
+import org.opendaylight.ovsdb.lib.error.UnsupportedMethodException;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.Version;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+/**
+ * The typed row wrappers of a typed table interface, resolved against a database schema.
+ *
+ * <p>Everything {@link TyperUtils} used to work out on every call of a wrapper method is worked out once, when
+ * the interface is first wrapped for a given schema: the kind of every method, its column and column schema, and
+ * whether the schema version supports it. Wrapper methods then dispatch to a precompiled accessor and the
+ * wrappers themselves are created through the cached constructor of the proxy class.
+ *
+ * <p>Bindings are kept for as long as their database schema is reachable. Database schemas must not be renamed or
+ * have their version changed once they are used to create typed rows.
+ */
+final class TypedRowBinding<T> {
+
+    private static final LoadingCache<DatabaseSchema, ConcurrentMap<Class<?>, TypedRowBinding<?>>> BINDINGS =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<DatabaseSchema,
+                    ConcurrentMap<Class<?>, TypedRowBinding<?>>>() {
+                @Override
+                public ConcurrentMap<Class<?>, TypedRowBinding<?>> load(DatabaseSchema key) {
+                    return new ConcurrentHashMap<>();
+                }
+            });
+
+    private final DatabaseSchema dbSchema;
+    private final Class<T> klazz;
+    private final boolean validDatabase;
+    private final Version fromVersion;
+    private final Version untilVersion;
+    private final boolean supported;
+    // Null if the table is not part of the schema
+    private final GenericTableSchema tableSchema;
+    private final Map<Method, Accessor> accessors = new HashMap<>();
+    private final Constructor<?> proxyConstructor;
+
+    @FunctionalInterface
+    private interface Accessor {
+        Object invoke(Handler handler, Object proxy, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> TypedRowBinding<T> of(DatabaseSchema dbSchema, Class<T> klazz) {
+        return (TypedRowBinding<T>) BINDINGS.getUnchecked(dbSchema).computeIfAbsent(klazz,
+            key -> new TypedRowBinding<>(dbSchema, klazz));
+    }
+
+    private TypedRowBinding(DatabaseSchema dbSchema, Class<T> klazz) {
+        Preconditions.checkArgument(klazz.isInterface(), "%s is not an interface", klazz);
+        this.dbSchema = dbSchema;
+        this.klazz = klazz;
+
+        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
+        validDatabase = typedTable == null || dbSchema.getName().equalsIgnoreCase(typedTable.database());
+        fromVersion = TyperUtils.getTableFromVersion(klazz);
+        untilVersion = TyperUtils.getTableUntilVersion(klazz);
+        supported = TyperUtils.isSupported(dbSchema.getVersion(), fromVersion, untilVersion);
+        tableSchema = dbSchema.hasTable(TyperUtils.getTableName(klazz))
+                ? TyperUtils.getTableSchema(dbSchema, klazz) : null;
+
+        for (Method method : klazz.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())) {
+                accessors.put(method, accessor(method));
+            }
+        }
+        try {
+            proxyConstructor = Proxy.getProxyClass(klazz.getClassLoader(), klazz)
+                    .getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot create typed rows for " + klazz, e);
+        }
+    }
+
+    /**
+     * Creates a typed wrapper of the given row, see {@link TyperUtils#getTypedRowWrapper}.
+     *
+     * @param row the row, may be null
+     * @return the wrapper, null if the typed table belongs to another database
+     */
+    T newWrapper(Row<GenericTableSchema> row) {
+        if (!validDatabase) {
+            return null;
+        }
+        if (!supported) {
+            throw new SchemaVersionMismatchException(dbSchema.getVersion(), fromVersion, untilVersion);
+        }
+        if (row != null) {
+            row.setTableSchema(tableSchema());
+        }
+        try {
+            return klazz.cast(proxyConstructor.newInstance(new Handler(this, row)));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create a typed row for " + klazz, e);
+        }
+    }
+
+    private GenericTableSchema tableSchema() {
+        // A missing table fails the way TyperUtils.getTableSchema() does
+        return tableSchema != null ? tableSchema : TyperUtils.getTableSchema(dbSchema, klazz);
+    }
+
+    private Accessor accessor(Method method) {
+        if (TyperUtils.isGetTableSchema(method)) {
+            return (handler, proxy, args) -> tableSchema();
+        } else if (TyperUtils.isGetRow(method)) {
+            return (handler, proxy, args) -> handler.row;
+        }
+
+        String columnName = TyperUtils.getColumnName(method);
+        Version columnFromVersion = TyperUtils.getColumnFromVersion(method);
+        Version columnUntilVersion = TyperUtils.getColumnUntilVersion(method);
+        if (!TyperUtils.isSupported(dbSchema.getVersion(), columnFromVersion, columnUntilVersion)) {
+            return (handler, proxy, args) -> {
+                throw new SchemaVersionMismatchException(dbSchema.getVersion(), columnFromVersion,
+                        columnUntilVersion);
+            };
+        }
+        ColumnSchema<GenericTableSchema, Object> columnSchema = columnName == null || tableSchema == null
+                ? null : TyperUtils.getColumnSchema(tableSchema, columnName, Object.class);
+
+        if (TyperUtils.isSetData(method)) {
+            return (handler, proxy, args) -> {
+                if (args == null || args.length != 1) {
+                    throw new TyperException("Setter method : " + method.getName() + " requires 1 argument");
+                }
+                if (columnName == null) {
+                    throw new TyperException("Unable to locate Column Name for " + method.getName());
+                }
+                tableSchema();
+                handler.row.addColumn(columnName, new Column<>(columnSchema, args[0]));
+                return proxy;
+            };
+        } else if (TyperUtils.isGetData(method)) {
+            return (handler, proxy, args) -> {
+                ColumnSchema<GenericTableSchema, Object> resolved =
+                        resolve(columnName, columnSchema, "Error processing Getter : ", method);
+                Column<GenericTableSchema, Object> column =
+                        handler.row == null ? null : handler.row.getColumn(resolved);
+                return column == null ? null : column.getData();
+            };
+        } else if (TyperUtils.isGetColumn(method)) {
+            return (handler, proxy, args) -> {
+                ColumnSchema<GenericTableSchema, Object> resolved =
+                        resolve(columnName, columnSchema, "Error processing GetColumn : ", method);
+                // When the row is null, that might indicate that the user maybe interested
+                // only in the ColumnSchema and not on the Data.
+                return handler.row == null ? new Column<>(resolved, null) : handler.row.getColumn(resolved);
+            };
+        }
+        return (handler, proxy, args) -> {
+            throw new UnsupportedMethodException("Method not supported " + method.toString());
+        };
+    }
+
+    private ColumnSchema<GenericTableSchema, Object> resolve(String columnName,
+            ColumnSchema<GenericTableSchema, Object> columnSchema, String error, Method method) {
+        if (columnName == null) {
+            throw new TyperException(error + method.getName());
+        }
+        if (columnSchema == null) {
+            String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema().getName());
+            throw new ColumnSchemaNotFoundException(message);
+        }
+        return columnSchema;
+    }
+
+    /*
+     * The invocation handler of a wrapper. Being just a wrapper, it is state-less apart from the row it wraps.
+     */
+    private static final class Handler implements InvocationHandler {
+        private final TypedRowBinding<?> binding;
+        private final Row<GenericTableSchema> row;
+
+        Handler(TypedRowBinding<?> binding, Row<GenericTableSchema> row) {
+            this.binding = binding;
+            this.row = row;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            Accessor accessor = binding.accessors.get(method);
+            if (accessor != null) {
+                return accessor.invoke(this, proxy, args);
+            }
+            boolean noArgs = args == null || args.length == 0;
+            if (noArgs && method.getName().equals("hashCode")) {
+                return hashCode();
+            } else if (args != null && args.length == 1 && method.getName().equals("equals")
+                    && Object.class.equals(method.getParameterTypes()[0])) {
+                return proxy.getClass().isInstance(args[0]) && this.equals(args[0]);
+            } else if (noArgs && method.getName().equals("toString")) {
+                return this.toString();
+            }
+            throw new UnsupportedMethodException("Method not supported " + method.toString());
+        }
+
+        @Override
+        @SuppressFBWarnings({"EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", "EQ_UNUSUAL"})
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypedBaseTable)) {
+                return false;
+            }
+            TypedBaseTable<?> typedRowObj = (TypedBaseTable<?>)obj;
+            return Objects.equal(row, typedRowObj.getRow());
+        }
+
+        @Override
+        public int hashCode() {
+            if (row == null) {
+                return 0;
+            }
+            return row.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            TableSchema<?> schema = binding.tableSchema();
+            String tableName = schema != null ? schema.getName() : "";
+            if (row == null) {
+                return tableName;
+            }
+            return tableName + " : " + row.toString();
+        }
+    }
+}
@@ -8,30 +8,20 @@
 
 package org.opendaylight.ovsdb.lib.schema.typed;
 
-import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
-import com.google.common.reflect.Reflection;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import org.opendaylight.ovsdb.lib.error.ColumnSchemaNotFoundException;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
-import org.opendaylight.ovsdb.lib.error.TableSchemaNotFoundException;
-import org.opendaylight.ovsdb.lib.error.TyperException;
-import org.opendaylight.ovsdb.lib.error.UnsupportedMethodException;
 import org.opendaylight.ovsdb.lib.message.TableUpdate;
 import org.opendaylight.ovsdb.lib.message.TableUpdates;
-import org.opendaylight.ovsdb.lib.notation.Column;
 import org.opendaylight.ovsdb.lib.notation.Row;
 import org.opendaylight.ovsdb.lib.notation.UUID;
 import org.opendaylight.ovsdb.lib.notation.Version;
 import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
-import org.opendaylight.ovsdb.lib.schema.TableSchema;
 
 /**
  * Utility methods for typed OVSDB schema data.
@@ -47,7 +37,7 @@ public final class TyperUtils {
         // Prevent instantiating a utility class
     }
 
-    private static <T> String getTableName(Class<T> klazz) {
+    static <T> String getTableName(Class<T> klazz) {
         TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
         if (typedTable != null) {
             return typedTable.name();
@@ -73,7 +63,7 @@ public final class TyperUtils {
         return tableSchema.column(columnName, metaClass);
     }
 
-    private static String getColumnName(Method method) {
+    static String getColumnName(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
             return typedColumn.name();
@@ -97,12 +87,12 @@ public final class TyperUtils {
         return null;
     }
 
-    private static boolean isGetTableSchema(Method method) {
+    static boolean isGetTableSchema(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         return typedColumn != null && typedColumn.method().equals(MethodType.GETTABLESCHEMA);
     }
 
-    private static boolean isGetRow(Method method) {
+    static boolean isGetRow(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
             return typedColumn.method().equals(MethodType.GETROW);
@@ -111,7 +101,7 @@ public final class TyperUtils {
         return method.getName().startsWith(GET_STARTS_WITH) && method.getName().endsWith(GETROW_ENDS_WITH);
     }
 
-    private static boolean isGetColumn(Method method) {
+    static boolean isGetColumn(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
             return typedColumn.method().equals(MethodType.GETCOLUMN);
@@ -120,7 +110,7 @@ public final class TyperUtils {
         return method.getName().startsWith(GET_STARTS_WITH) && method.getName().endsWith(GETCOLUMN_ENDS_WITH);
     }
 
-    private static boolean isGetData(Method method) {
+    static boolean isGetData(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
             return typedColumn.method().equals(MethodType.GETDATA);
@@ -129,7 +119,7 @@ public final class TyperUtils {
         return method.getName().startsWith(GET_STARTS_WITH) && !method.getName().endsWith(GETCOLUMN_ENDS_WITH);
     }
 
-    private static boolean isSetData(Method method) {
+    static boolean isSetData(Method method) {
         TypedColumn typedColumn = method.getAnnotation(TypedColumn.class);
         if (typedColumn != null) {
             return typedColumn.method().equals(MethodType.SETDATA);
@@ -170,51 +160,17 @@ public final class TyperUtils {
         return Version.NULL;
     }
 
-    /**
-     * Method that checks validity of the parameter passed to getTypedRowWrapper.
-     * This method checks for a valid Database Schema matching the expected Database for a given table
-     * and checks for the presence of the Table in Database Schema.
-     *
-     * @param dbSchema DatabaseSchema as learnt from a OVSDB connection
-     * @param klazz Typed Class that represents a Table
-     * @return true if valid, false otherwise
-     */
-    private static <T> boolean isValid(DatabaseSchema dbSchema, final Class<T> klazz) {
-        if (dbSchema == null) {
-            return false;
-        }
-
-        TypedTable typedTable = klazz.getAnnotation(TypedTable.class);
-        if (typedTable != null && !dbSchema.getName().equalsIgnoreCase(typedTable.database())) {
-            return false;
-        }
-
-        checkTableSchemaVersion(dbSchema, klazz);
-
-        return true;
-    }
-
-    private static void checkColumnSchemaVersion(DatabaseSchema dbSchema, Method method) {
-        Version fromVersion = getColumnFromVersion(method);
-        Version untilVersion = getColumnUntilVersion(method);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
-    }
-
-    private static <T> void checkTableSchemaVersion(DatabaseSchema dbSchema, Class<T> klazz) {
-        Version fromVersion = getTableFromVersion(klazz);
-        Version untilVersion = getTableUntilVersion(klazz);
-        Version schemaVersion = dbSchema.getVersion();
-        checkVersion(schemaVersion, fromVersion, untilVersion);
-    }
-
     private static void checkVersion(Version schemaVersion, Version fromVersion, Version untilVersion) {
-        if (!fromVersion.equals(Version.NULL) && schemaVersion.compareTo(fromVersion) < 0 || !untilVersion.equals(
-                Version.NULL) && schemaVersion.compareTo(untilVersion) > 0) {
+        if (!isSupported(schemaVersion, fromVersion, untilVersion)) {
             throw new SchemaVersionMismatchException(schemaVersion, fromVersion, untilVersion);
         }
     }
 
+    static boolean isSupported(Version schemaVersion, Version fromVersion, Version untilVersion) {
+        return (fromVersion.equals(Version.NULL) || schemaVersion.compareTo(fromVersion) >= 0)
+                && (untilVersion.equals(Version.NULL) || schemaVersion.compareTo(untilVersion) <= 0);
+    }
+
     /**
      * Returns a Typed Proxy implementation for the klazz passed as a parameter.
      * Per design choice, the Typed Proxy implementation is just a Wrapper on top of the actual
@@ -250,6 +206,9 @@ public final class TyperUtils {
      * The raw Row parameter may be null if the caller is interested in just the
      * ColumnSchema. But that is not a very common use-case.
      *
+     * <p>The methods of klazz, their columns and the schema version checks are resolved once per database
+     * schema, the wrappers only look up what was resolved.
+     *
      * @param dbSchema DatabaseSchema as learnt from a OVSDB connection
      * @param klazz Typed Class that represents a Table
      * @param row The actual Row that the wrapper is operating on. It can be null if the caller
@@ -257,161 +216,10 @@ public final class TyperUtils {
      */
     public static <T> T getTypedRowWrapper(final DatabaseSchema dbSchema, final Class<T> klazz,
                                            final Row<GenericTableSchema> row) {
-        if (!isValid(dbSchema, klazz)) {
+        if (dbSchema == null) {
             return null;
         }
-        if (row != null) {
-            row.setTableSchema(getTableSchema(dbSchema, klazz));
-        }
-        return Reflection.newProxy(klazz, new InvocationHandler() {
-            private Object processGetData(Method method) {
-                String columnName = getColumnName(method);
-                checkColumnSchemaVersion(dbSchema, method);
-                if (columnName == null) {
-                    throw new TyperException("Error processing Getter : " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                if (tableSchema == null) {
-                    String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
-                    throw new TableSchemaNotFoundException(message);
-                }
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
-                if (columnSchema == null) {
-                    String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
-                    throw new ColumnSchemaNotFoundException(message);
-                }
-                if (row == null || row.getColumn(columnSchema) == null) {
-                    return null;
-                }
-                return row.getColumn(columnSchema).getData();
-            }
-
-            private Object processGetRow() {
-                return row;
-            }
-
-            private Object processGetColumn(Method method) {
-                String columnName = getColumnName(method);
-                checkColumnSchemaVersion(dbSchema, method);
-                if (columnName == null) {
-                    throw new TyperException("Error processing GetColumn : " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                if (tableSchema == null) {
-                    String message =
-                            TableSchemaNotFoundException.createMessage(getTableName(klazz), dbSchema.getName());
-                    throw new TableSchemaNotFoundException(message);
-                }
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) method.getReturnType());
-                if (columnSchema == null) {
-                    String message = ColumnSchemaNotFoundException.createMessage(columnName, tableSchema.getName());
-                    throw new ColumnSchemaNotFoundException(message);
-                }
-                // When the row is null, that might indicate that the user maybe interested
-                // only in the ColumnSchema and not on the Data.
-                if (row == null) {
-                    return new Column<>(columnSchema, null);
-                }
-                return row.getColumn(columnSchema);
-            }
-
-            private Object processSetData(Object proxy, Method method, Object[] args) {
-                if (args == null || args.length != 1) {
-                    throw new TyperException("Setter method : " + method.getName() + " requires 1 argument");
-                }
-                checkColumnSchemaVersion(dbSchema, method);
-                String columnName = getColumnName(method);
-                if (columnName == null) {
-                    throw new TyperException("Unable to locate Column Name for " + method.getName());
-                }
-                GenericTableSchema tableSchema = getTableSchema(dbSchema, klazz);
-                ColumnSchema<GenericTableSchema, Object> columnSchema =
-                        getColumnSchema(tableSchema, columnName, (Class<Object>) args[0].getClass());
-                Column<GenericTableSchema, Object> column =
-                        new Column<>(columnSchema, args[0]);
-                row.addColumn(columnName, column);
-                return proxy;
-            }
-
-            private Object processGetTableSchema() {
-                if (dbSchema == null) {
-                    return null;
-                }
-                return getTableSchema(dbSchema, klazz);
-            }
-
-            private Boolean isHashCodeMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("hashCode");
-            }
-
-            private Boolean isEqualsMethod(Method method, Object[] args) {
-                return args != null
-                        && args.length == 1
-                        && method.getName().equals("equals")
-                        && Object.class.equals(method.getParameterTypes()[0]);
-            }
-
-            private Boolean isToStringMethod(Method method, Object[] args) {
-                return (args == null || args.length == 0) && method.getName().equals("toString");
-            }
-
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
-                if (isGetTableSchema(method)) {
-                    return processGetTableSchema();
-                } else if (isGetRow(method)) {
-                    return processGetRow();
-                } else if (isSetData(method)) {
-                    return processSetData(proxy, method, args);
-                } else if (isGetData(method)) {
-                    return processGetData(method);
-                } else if (isGetColumn(method)) {
-                    return processGetColumn(method);
-                } else if (isHashCodeMethod(method, args)) {
-                    return hashCode();
-                } else if (isEqualsMethod(method, args)) {
-                    return proxy.getClass().isInstance(args[0]) && this.equals(args[0]);
-                } else if (isToStringMethod(method, args)) {
-                    return this.toString();
-                }
-                throw new UnsupportedMethodException("Method not supported " + method.toString());
-            }
-
-            @Override
-            @SuppressFBWarnings({"EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", "EQ_UNUSUAL"})
-            public boolean equals(Object obj) {
-                if (!(obj instanceof TypedBaseTable)) {
-                    return false;
-                }
-                TypedBaseTable<?> typedRowObj = (TypedBaseTable<?>)obj;
-                return Objects.equal(row, typedRowObj.getRow());
-            }
-
-            @Override public int hashCode() {
-                if (row == null) {
-                    return 0;
-                }
-                return row.hashCode();
-            }
-
-            @Override public String toString() {
-                String tableName;
-                TableSchema<?> schema = (TableSchema<?>)processGetTableSchema();
-                if (schema != null) {
-                    tableName = schema.getName();
-                } else {
-                    tableName = "";
-                }
-                if (row == null) {
-                    return tableName;
-                }
-                return tableName + " : " + row.toString();
-            }
-        }
-        );
+        return TypedRowBinding.of(dbSchema, klazz).newWrapper(row);
     }
 
     /**
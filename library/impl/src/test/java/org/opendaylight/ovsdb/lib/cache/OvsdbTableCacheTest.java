@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.TableUpdate;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class OvsdbTableCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private DatabaseSchema dbSchema;
+    private GenericTableSchema bridge;
+    private OvsdbTableCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(is).get("result"));
+        }
+        bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+        cache = new OvsdbTableCache(dbSchema);
+        cache.addIndex("Bridge", "name");
+        cache.addIndex("Bridge", "ports");
+    }
+
+    private void update(String json) throws IOException {
+        TableUpdate<GenericTableSchema> update = bridge.updatesFromJson(mapper.readTree(json.replace('\'', '"')));
+        cache.update(new TableUpdates(Collections.singletonMap("Bridge", update)), dbSchema);
+    }
+
+    private String name(Row<GenericTableSchema> row) {
+        return row.getColumn(bridge.column("name", String.class)).getData();
+    }
+
+    @Test
+    public void testUpdates() throws IOException {
+        List<String> events = new ArrayList<>();
+        cache.addListener((table, uuid, oldRow, newRow) -> events.add(table + " " + uuid + " "
+                + (oldRow == null ? null : name(oldRow)) + " -> " + (newRow == null ? null : name(newRow))));
+        UUID uuid = new UUID("b1");
+        UUID port = new UUID("p1");
+
+        update("{'b1':{'new':{'name':'br0','ports':['set',[['uuid','p1']]]}}}");
+        assertEquals("br0", name(cache.getRow("Bridge", uuid)));
+        assertEquals(1, cache.getRowsByIndex("Bridge", "name", "br0").size());
+        assertEquals(1, cache.getRowsByIndex("Bridge", "ports", port).size());
+
+        // Columns missing from the update keep their cached value
+        update("{'b1':{'old':{'name':'br0'},'new':{'name':'br1'}}}");
+        assertTrue(cache.getRowsByIndex("Bridge", "name", "br0").isEmpty());
+        assertEquals(1, cache.getRowsByIndex("Bridge", "name", "br1").size());
+        assertEquals(1, cache.getRowsByIndex("Bridge", "ports", port).size());
+
+        update("{'b1':{'old':{'name':'br1'}}}");
+        assertNull(cache.getRow("Bridge", uuid));
+        assertTrue(cache.getRows("Bridge").isEmpty());
+        assertTrue(cache.getRowsByIndex("Bridge", "ports", port).isEmpty());
+
+        assertEquals(3, events.size());
+        assertEquals("Bridge b1 null -> br0", events.get(0));
+        assertEquals("Bridge b1 br0 -> br1", events.get(1));
+        assertEquals("Bridge b1 br1 -> null", events.get(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapIndex() {
+        cache.addIndex("Bridge", "external_ids");
+    }
+}
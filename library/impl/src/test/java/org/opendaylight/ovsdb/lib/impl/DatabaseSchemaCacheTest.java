@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class DatabaseSchemaCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JsonNode json;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            json = new ObjectMapper().readTree(is).get("result");
+        }
+        DatabaseSchemaCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseSchemaCache.setDirectory(null);
+        DatabaseSchemaCache.clear();
+    }
+
+    @Test
+    public void testSharedByContent() {
+        DatabaseSchema schema = DatabaseSchemaCache.get("Open_vSwitch", json);
+        assertSame(schema, DatabaseSchemaCache.get("Open_vSwitch", json.deepCopy()));
+        assertTrue(schema.table("Bridge", GenericTableSchema.class).getColumns().contains("_uuid"));
+
+        ObjectNode other = json.deepCopy();
+        other.put("cksum", "1 2");
+        assertNotSame(schema, DatabaseSchemaCache.get("Open_vSwitch", other));
+        assertNotEquals(DatabaseSchemaCache.key("Open_vSwitch", json), DatabaseSchemaCache.key("hardware_vtep", json));
+        assertEquals(2, DatabaseSchemaCache.size());
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        File dir = folder.newFolder();
+        DatabaseSchemaCache.setDirectory(dir.getPath());
+        String dbName = json.get("name").asText();
+        DatabaseSchemaCache.get(dbName, json);
+        assertTrue(new File(dir, DatabaseSchemaCache.key(dbName, json) + ".json").isFile());
+
+        // A restart finds the schema without it being fetched again
+        DatabaseSchemaCache.clear();
+        DatabaseSchemaCache.setDirectory(dir.getPath());
+        assertEquals(1, DatabaseSchemaCache.size());
+        DatabaseSchema schema = DatabaseSchemaCache.get(dbName, json);
+        assertEquals(1, DatabaseSchemaCache.size());
+        assertTrue(schema.getTables().contains("Bridge"));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.EchoServiceCallbackFilters;
+
+public class EchoServiceTest {
+
+    private static final EchoServiceCallbackFilters FAST = new EchoServiceCallbackFilters() {
+        @Override
+        public long getEchoIntervalMillis() {
+            return 100;
+        }
+
+        @Override
+        public long getEchoTimeoutMillis() {
+            return 200;
+        }
+
+        @Override
+        public boolean echoMissed(int consecutiveMisses) {
+            return consecutiveMisses >= 2;
+        }
+    };
+
+    @Test
+    public void testRoundTripTimes() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        AtomicInteger probes = new AtomicInteger();
+        EchoService echoService = new EchoService(channel, () -> {
+            probes.incrementAndGet();
+            return Futures.immediateFuture("reply");
+        }, FAST);
+        echoService.start();
+        waitFor(() -> echoService.getRoundTripTimesMicros().size() >= 2);
+        assertTrue(echoService.getReplyTimeoutNanos() <= TimeUnit.MILLISECONDS.toNanos(200));
+
+        echoService.stop();
+        assertNull(channel.pipeline().get(EchoService.TRAFFIC_HANDLER_NAME));
+        int sent = probes.get();
+        Thread.sleep(400);
+        assertEquals(sent, probes.get());
+    }
+
+    @Test
+    public void testTrafficSkipsProbes() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        AtomicInteger probes = new AtomicInteger();
+        EchoService echoService = new EchoService(channel, () -> {
+            probes.incrementAndGet();
+            return Futures.immediateFuture("reply");
+        }, FAST);
+        echoService.start();
+        for (int i = 0; i < 10; i++) {
+            channel.writeInbound("traffic");
+            Thread.sleep(40);
+        }
+        assertEquals(0, probes.get());
+        echoService.stop();
+    }
+
+    @Test
+    public void testDisconnectAfterMisses() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        EchoService echoService = new EchoService(channel, SettableFuture::create, FAST);
+        echoService.start();
+        waitFor(() -> !channel.isActive());
+        assertFalse(channel.isActive());
+        assertTrue(echoService.getRoundTripTimesMicros().isEmpty());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.operations.Operation;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.operations.Select;
+import org.opendaylight.ovsdb.lib.operations.Update;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class FutureTransformUtilsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GenericTableSchema bridge;
+    private List<Operation> operations;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            bridge = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(is).get("result"))
+                    .table("Bridge", GenericTableSchema.class);
+        }
+        operations = Arrays.asList(new Select<>(bridge), new Update<>(bridge));
+    }
+
+    private List<JsonNode> response() throws IOException {
+        JsonNode result = mapper.readTree("[{\"rows\":[{\"name\":\"br0\"},{\"name\":\"br1\"}]},"
+                + "{\"count\":2,\"unknown\":true}]");
+        List<JsonNode> nodes = new ArrayList<>();
+        result.forEach(nodes::add);
+        return nodes;
+    }
+
+    @Test
+    public void testSelectRows() throws Exception {
+        List<JsonNode> response = response();
+        List<OperationResult> results = FutureTransformUtils.transformTransactResponse(
+                Futures.immediateFuture(response), operations).get();
+
+        assertEquals(2, results.get(0).getRows().size());
+        assertEquals("br1", results.get(0).getRows().get(1).getColumn(bridge.column("name", String.class))
+                .getData());
+        assertEquals(2, results.get(1).getCount());
+        // The response is left as is for the other listeners of its future
+        assertEquals("br0", response.get(0).get("rows").get(0).get("name").asText());
+    }
+
+    @Test
+    public void testSelectRowConsumer() throws Exception {
+        List<String> names = new ArrayList<>();
+        List<OperationResult> results = FutureTransformUtils.transformTransactResponse(
+                Futures.immediateFuture(response()), operations, (Row<GenericTableSchema> row, int index) -> {
+                    assertEquals(0, index);
+                    names.add(row.getColumn(bridge.column("name", String.class)).getData());
+                }).get();
+
+        assertEquals(Arrays.asList("br0", "br1"), names);
+        assertTrue(results.get(0).getRows().isEmpty());
+        assertEquals(2, results.get(1).getCount());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class OrderedUpdateExecutorTest {
+
+    @Test
+    public void testOrderAndBackpressure() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ExecutorService pool = Executors.newCachedThreadPool();
+        OrderedUpdateExecutor executor = new OrderedUpdateExecutor(channel, pool, 4, 1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            final int index = i;
+            executor.execute(() -> order.add(index));
+        }
+        assertFalse(channel.config().isAutoRead());
+
+        blocked.countDown();
+        for (int i = 0; i < 100 && executor.getPendingCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.getPendingCount());
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), order);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
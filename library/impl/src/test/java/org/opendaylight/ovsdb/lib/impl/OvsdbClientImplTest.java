@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.ovsdb.lib.MonitorCallBack;
+import org.opendaylight.ovsdb.lib.MonitorHandle;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.ConnectionType;
+import org.opendaylight.ovsdb.lib.OvsdbConnectionInfo.SocketConnectionType;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
+import org.opendaylight.ovsdb.lib.jsonrpc.Params;
+import org.opendaylight.ovsdb.lib.message.MonitorRequest;
+import org.opendaylight.ovsdb.lib.message.MonitorRequestBuilder;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.TableUpdates;
+import org.opendaylight.ovsdb.lib.message.TransactBuilder;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.operations.Select;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class OvsdbClientImplTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<String> events = new ArrayList<>();
+    private OvsdbRPC rpc;
+    private OvsdbClientImpl client;
+
+    @Before
+    public void setUp() {
+        rpc = mock(OvsdbRPC.class);
+        client = new OvsdbClientImpl(rpc, new EmbeddedChannel(), ConnectionType.ACTIVE,
+                SocketConnectionType.NON_SSL);
+    }
+
+    private OvsdbRPC.Callback lock(String lockId, String reply) throws IOException {
+        when(rpc.lock(Collections.singletonList(lockId))).thenReturn(Futures.immediateFuture(mapper.readTree(reply)));
+        client.lock(lockId, () -> events.add("acquired"), () -> events.add("stolen"));
+        ArgumentCaptor<OvsdbRPC.Callback> callback = ArgumentCaptor.forClass(OvsdbRPC.Callback.class);
+        verify(rpc).registerCallback(callback.capture());
+        return callback.getValue();
+    }
+
+    @Test
+    public void testLockNotifications() throws IOException {
+        OvsdbRPC.Callback callback = lock("lk", "{\"locked\":false}");
+        assertFalse(client.isLockHeld("lk"));
+        assertTrue(events.isEmpty());
+
+        callback.locked(null, Collections.singletonList("lk"));
+        assertTrue(client.isLockHeld("lk"));
+        callback.stolen(null, Collections.singletonList("lk"));
+        assertFalse(client.isLockHeld("lk"));
+        assertEquals(Arrays.asList("acquired", "stolen"), events);
+    }
+
+    @Test
+    public void testUnlock() throws IOException, InterruptedException, ExecutionException {
+        lock("lk", "{\"locked\":true}");
+        // An error reply carries a null result
+        when(rpc.unlock(Collections.singletonList("lk"))).thenReturn(Futures.immediateFuture(NullNode.getInstance()));
+        assertFalse(client.unLock("lk").get());
+        assertTrue(client.isLockHeld("lk"));
+
+        when(rpc.unlock(Collections.singletonList("lk"))).thenReturn(Futures.immediateFuture(mapper.readTree("{}")));
+        assertTrue(client.unLock("lk").get());
+        assertFalse(client.isLockHeld("lk"));
+    }
+
+    @Test
+    public void testTransactWithLock() throws IOException, InterruptedException, ExecutionException {
+        DatabaseSchema dbSchema = new DatabaseSchema("Open_vSwitch", null, Collections.emptyMap());
+        try {
+            client.transactWithLock(dbSchema, "lk", Collections.emptyList()).get();
+            fail("Transaction without the lock");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        lock("lk", "{\"locked\":true}");
+        assertTrue(client.isLockHeld("lk"));
+        List<JsonNode> reply = Collections.singletonList(mapper.readTree("{\"error\":\"not owner\"}"));
+        when(rpc.transact(any(TransactBuilder.class))).thenReturn(Futures.immediateFuture(reply));
+        ArgumentCaptor<TransactBuilder> request = ArgumentCaptor.forClass(TransactBuilder.class);
+        assertEquals("not owner", client.transactWithLock(dbSchema, "lk", Collections.emptyList()).get()
+                .get(0).getError());
+        verify(rpc).transact(request.capture());
+        assertEquals("assert", request.getValue().getRequests().get(0).getOp());
+        assertFalse(client.isLockHeld("lk"));
+    }
+
+    @Test
+    public void testSelectRowConsumerThread() throws IOException, InterruptedException, ExecutionException {
+        DatabaseSchema dbSchema;
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(is).get("result"));
+        }
+        SettableFuture<List<JsonNode>> reply = SettableFuture.create();
+        when(rpc.transact(any(TransactBuilder.class))).thenReturn(reply);
+        List<Thread> threads = new ArrayList<>();
+        ListenableFuture<List<OperationResult>> results = client.transact(dbSchema,
+                Collections.singletonList(new Select<>(dbSchema.table("Bridge", GenericTableSchema.class))),
+                (row, index) -> threads.add(Thread.currentThread()));
+
+        // The thread completing the response stands for the event loop, which does not consume the rows
+        reply.set(Collections.singletonList(mapper.readTree("{\"rows\":[{\"name\":\"br0\"}]}")));
+        results.get();
+        assertEquals(1, threads.size());
+        assertNotSame(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    public void testMonitorAsync() throws IOException, InterruptedException, ExecutionException {
+        DatabaseSchema dbSchema = new DatabaseSchema("Open_vSwitch", null, Collections.emptyMap());
+        SettableFuture<JsonNode> reply = SettableFuture.create();
+        when(rpc.monitor(any(Params.class))).thenReturn(reply);
+        MonitorCallBack callback = mock(MonitorCallBack.class);
+
+        ListenableFuture<TableUpdates> monitor = client.monitorAsync(dbSchema, Collections.emptyList(),
+                new MonitorHandle("mon"), callback);
+        assertFalse(monitor.isDone());
+        reply.set(mapper.readTree("{}"));
+        verify(callback).update(monitor.get(), dbSchema);
+
+        ArgumentCaptor<OvsdbRPC.Callback> rpcCallback = ArgumentCaptor.forClass(OvsdbRPC.Callback.class);
+        verify(rpc).registerCallback(rpcCallback.capture());
+        UpdateNotification update = new UpdateNotification();
+        update.setContext("mon");
+        update.setUpdates(mapper.readTree("{}"));
+        MonitorHandle handle = new MonitorHandle("mon");
+        handle.setLastTxnId("txn");
+
+        // An error reply carries a null result, the monitor is left as it is
+        when(rpc.monitor_cancel(any(Params.class))).thenReturn(Futures.immediateFuture(NullNode.getInstance()));
+        try {
+            client.cancelMonitorAsync(handle).get();
+            fail("Cancel rejected by the server");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals("txn", handle.getLastTxnId());
+        // Updates are dispatched on the update executor
+        rpcCallback.getValue().update(null, update);
+        verify(callback, timeout(1000).times(2)).update(any(TableUpdates.class), eq(dbSchema));
+
+        when(rpc.monitor_cancel(any(Params.class))).thenReturn(Futures.immediateFuture(mapper.readTree("{}")));
+        client.cancelMonitorAsync(handle).get();
+        assertNull(handle.getLastTxnId());
+        rpcCallback.getValue().update(null, update);
+        // The initial rows of another monitor are dispatched after the update, once it was dropped
+        client.monitorAsync(dbSchema, Collections.emptyList(), new MonitorHandle("other"), mock(MonitorCallBack.class))
+                .get();
+        verify(callback, times(2)).update(any(TableUpdates.class), eq(dbSchema));
+    }
+
+    private String monitorCondChange(MonitorRequest request) throws IOException {
+        when(rpc.monitor_cond_change(any(Params.class))).thenReturn(Futures.immediateFuture(null));
+        client.monitorCondChange(new MonitorHandle("mon"), Collections.singletonList(request));
+        ArgumentCaptor<Params> params = ArgumentCaptor.forClass(Params.class);
+        verify(rpc).monitor_cond_change(params.capture());
+        return OvsdbObjectMapper.getWriter().writeValueAsString(params.getValue().params());
+    }
+
+    @Test
+    public void testMonitorCondChange() throws IOException {
+        MonitorRequest request = new MonitorRequest("Bridge", Collections.singleton("name"));
+        request.setWhere(Collections.singletonList(new Condition("name", Function.EQUALS, "br0")));
+        // The columns of a monitor cannot be changed, ovsdb-server rejects the request if they are sent
+        assertEquals("[\"mon\",\"mon\",{\"Bridge\":[{\"where\":[[\"name\",\"==\",\"br0\"]]}]}]",
+                monitorCondChange(request));
+    }
+
+    @Test
+    public void testMonitorCondChangeFromBuilder() throws IOException {
+        MonitorRequest request = new MonitorRequestBuilder<>(new GenericTableSchema("Bridge"))
+                .addColumn("name").addCondition(new Condition("name", Function.EQUALS, "br0")).build();
+        assertEquals("[\"mon\",\"mon\",{\"Bridge\":[{\"where\":[[\"name\",\"==\",\"br0\"]]}]}]",
+                monitorCondChange(request));
+    }
+
+    @Test
+    public void testMonitorCondChangeWithoutConditions() throws IOException {
+        assertEquals("[\"mon\",\"mon\",{\"Bridge\":[{}]}]", monitorCondChange(new MonitorRequest("Bridge")));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.channel.Channel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+public class SharedEventLoopGroupsTest {
+
+    private final SharedEventLoopGroups groups = new SharedEventLoopGroups();
+
+    @After
+    public void tearDown() {
+        groups.shutdown();
+    }
+
+    @Test
+    public void testDiagnostics() throws Exception {
+        groups.setWorkerThreads(2);
+        assertEquals(TransportType.NIO, groups.getTransport());
+
+        List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Channel channel = groups.getTransport().socketChannelClass().newInstance();
+            groups.getWorkerGroup().register(channel).sync();
+            channels.add(channel);
+        }
+
+        String diagnostics = groups.getDiagnostics(channels);
+        assertTrue(diagnostics, diagnostics.contains("transport=NIO, channels per loop=[2, 1]"));
+        assertTrue(diagnostics, diagnostics.contains("usedDirectMemory="));
+
+        for (Channel channel : channels) {
+            channel.close().sync();
+        }
+    }
+}
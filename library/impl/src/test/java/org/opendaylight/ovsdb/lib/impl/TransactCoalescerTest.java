@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.notation.Mutation;
+import org.opendaylight.ovsdb.lib.notation.Mutator;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.operations.Insert;
+import org.opendaylight.ovsdb.lib.operations.Mutate;
+import org.opendaylight.ovsdb.lib.operations.Operation;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class TransactCoalescerTest {
+
+    private final DatabaseSchema dbSchema = new DatabaseSchema("Open_vSwitch", null, Collections.emptyMap());
+    private final GenericTableSchema bridge = new GenericTableSchema("Bridge");
+    private final GenericTableSchema port = new GenericTableSchema("Port");
+    private final List<List<Operation>> sent = new ArrayList<>();
+    private final List<SettableFuture<List<OperationResult>>> replies = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private TransactCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        coalescer = new TransactCoalescer((schema, operations) -> {
+            SettableFuture<List<OperationResult>> reply = SettableFuture.create();
+            sent.add(operations);
+            replies.add(reply);
+            return reply;
+        }, scheduler, 60000, 100);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private List<Operation> addPort(String name) {
+        Insert<GenericTableSchema> insert = new Insert<>(port).withId(name);
+        Mutate<GenericTableSchema> mutate = new Mutate<>(bridge);
+        mutate.addCondition(new Condition("_uuid", Function.EQUALS, new UUID("bridge")));
+        mutate.setMutations(new ArrayList<>(Collections.singletonList(
+                new Mutation("ports", Mutator.INSERT, new UUID(name)))));
+        return Arrays.asList(insert, mutate);
+    }
+
+    private static OperationResult result(String uuid, String error) {
+        OperationResult result = new OperationResult();
+        if (uuid != null) {
+            result.setUuid(Arrays.asList("uuid", uuid));
+        }
+        result.setCount(1);
+        result.setError(error);
+        return result;
+    }
+
+    @Test
+    public void testMergeAndFanOut() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, addPort("p1"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, addPort("p2"));
+        assertTrue(sent.isEmpty());
+        coalescer.flush();
+
+        // Both inserts followed by a single mutate of the bridge
+        assertEquals(1, sent.size());
+        List<Operation> merged = sent.get(0);
+        assertEquals(3, merged.size());
+        assertEquals("p1", ((Insert<?>) merged.get(0)).getUuidName());
+        assertEquals("p2", ((Insert<?>) merged.get(1)).getUuidName());
+        assertEquals(2, ((Mutate<?>) merged.get(2)).getMutations().size());
+
+        OperationResult mutateResult = result(null, null);
+        replies.get(0).set(Arrays.asList(result("u1", null), result("u2", null), mutateResult));
+        assertEquals(new UUID("u1"), first.get().get(0).getUuid());
+        assertSame(mutateResult, first.get().get(1));
+        assertEquals(new UUID("u2"), second.get().get(0).getUuid());
+        assertSame(mutateResult, second.get().get(1));
+    }
+
+    @Test
+    public void testFailedMergeIsSentSeparately() throws Exception {
+        ListenableFuture<List<OperationResult>> first = coalescer.transact(dbSchema, addPort("p1"));
+        ListenableFuture<List<OperationResult>> second = coalescer.transact(dbSchema, addPort("p2"));
+        // A transaction reusing a uuid-name starts a new batch
+        coalescer.transact(dbSchema, addPort("p1"));
+        assertEquals(1, sent.size());
+
+        replies.get(0).set(Arrays.asList(result(null, "constraint violation"), new OperationResult(),
+                new OperationResult()));
+        assertEquals(3, sent.size());
+        assertEquals(addPort("p1").size(), sent.get(1).size());
+        assertFalse(first.isDone());
+
+        List<OperationResult> own = Arrays.asList(result("u2", null), result(null, null));
+        replies.get(2).set(own);
+        assertSame(own, second.get());
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import io.netty.channel.epoll.Epoll;
+import org.junit.Test;
+
+public class TransportTypeTest {
+
+    @Test
+    public void testSelect() {
+        assertEquals(TransportType.NIO, TransportType.select("nio"));
+        assertEquals(TransportType.NIO, TransportType.select(" NIO "));
+        assertEquals(Epoll.isAvailable() ? TransportType.EPOLL : TransportType.NIO, TransportType.select("epoll"));
+    }
+
+    @Test
+    public void testFallback() {
+        assertEquals(TransportType.NIO, TransportType.select("sctp"));
+        assertEquals(TransportType.NIO, TransportType.select(null));
+        // The io_uring transport is not on the classpath
+        assertFalse(TransportType.IO_URING.isAvailable());
+        assertEquals(TransportType.NIO, TransportType.select("io_uring"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+
+public class Update2ConverterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private DatabaseSchema dbSchema;
+    private Update2Converter converter;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(is).get("result"));
+        }
+        converter = new Update2Converter(Collections.singletonMap("Bridge",
+                Arrays.asList("name", "ports", "external_ids")));
+    }
+
+    private JsonNode convert(String json) throws IOException {
+        return converter.toUpdates(mapper.readTree(json.replace('\'', '"')), dbSchema);
+    }
+
+    @Test
+    public void testInsertModifyDelete() throws IOException {
+        JsonNode insert = convert("{'Bridge':{'b1':{'initial':{'name':'br0'}}}}").get("Bridge").get("b1");
+        assertEquals(mapper.readTree("{\"name\":\"br0\",\"ports\":[\"set\",[]],\"external_ids\":[\"map\",[]]}"),
+                insert.get("new"));
+        assertNull(insert.get("old"));
+
+        JsonNode modify = convert("{'Bridge':{'b1':{'modify':{'external_ids':['map',[['a','1']]],"
+                + "'ports':['uuid','p1']}}}}").get("Bridge").get("b1");
+        assertEquals(mapper.readTree("[\"map\",[[\"a\",\"1\"]]]"), modify.get("new").get("external_ids"));
+        assertEquals(mapper.readTree("[\"set\",[[\"uuid\",\"p1\"]]]"), modify.get("new").get("ports"));
+        assertEquals("br0", modify.get("new").get("name").asText());
+        assertFalse(modify.get("old").has("name"));
+        assertEquals(mapper.readTree("[\"map\",[]]"), modify.get("old").get("external_ids"));
+
+        // Same key and value removes the pair, an existing element removes it from the set
+        modify = convert("{'Bridge':{'b1':{'modify':{'external_ids':['map',[['a','1']]],"
+                + "'ports':['set',[['uuid','p1'],['uuid','p2']]]}}}}").get("Bridge").get("b1");
+        assertEquals(mapper.readTree("[\"map\",[]]"), modify.get("new").get("external_ids"));
+        assertEquals(mapper.readTree("[\"set\",[[\"uuid\",\"p2\"]]]"), modify.get("new").get("ports"));
+
+        JsonNode delete = convert("{'Bridge':{'b1':{'delete':null}}}").get("Bridge").get("b1");
+        assertEquals("br0", delete.get("old").get("name").asText());
+        assertNull(delete.get("new"));
+    }
+
+    @Test
+    public void testFullDumpReportsVanishedRows() throws IOException {
+        convert("{'Bridge':{'b1':{'initial':{'name':'br0'}},'b2':{'initial':{'name':'br1'}}}}");
+
+        JsonNode updates = converter.toUpdates(mapper.readTree("{\"Bridge\":{\"b2\":{\"initial\":"
+                + "{\"name\":\"br1\"}}}}"), dbSchema, true).get("Bridge");
+        assertEquals("br1", updates.get("b2").get("new").get("name").asText());
+        assertEquals("br0", updates.get("b1").get("old").get("name").asText());
+        assertNull(updates.get("b1").get("new"));
+    }
+}
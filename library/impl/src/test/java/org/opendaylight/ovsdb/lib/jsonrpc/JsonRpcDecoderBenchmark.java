@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH comparison of {@link JsonRpcDecoder} and {@link NonBlockingJsonRpcDecoder} on a monitor "update"
+ * notification for a large number of ports, delivered to the channel in socket-sized chunks.
+ * Run with {@code java -cp <test classpath> org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcDecoderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonRpcDecoderBenchmark {
+
+    private static final int CHUNK_SIZE = 65535;
+
+    @Param({"500", "5000"})
+    public int ports;
+
+    private byte[] message;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("{\"id\":null,\"method\":\"update\",\"params\":[\"monitor\",{\"Port\":{");
+        for (int i = 0; i < ports; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(uuid(i)).append("\":{\"new\":{\"name\":\"tap").append(i)
+                .append("\",\"interfaces\":[\"uuid\",\"").append(uuid(i + ports))
+                .append("\"],\"tag\":[\"set\",[]],\"trunks\":[\"set\",[]],\"external_ids\":[\"map\",[[\"iface-id\",\"")
+                .append(uuid(i + 2 * ports)).append("\"],[\"attached-mac\",\"fa:16:3e:00:00:01\"]]],")
+                .append("\"other_config\":[\"map\",[]],\"vlan_mode\":[\"set\",[]],\"qos\":[\"set\",[]]}}");
+        }
+        sb.append("}}]}");
+        message = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String uuid(int index) {
+        return String.format("%08x-0e4f-43d8-a068-259e75aabbba", index);
+    }
+
+    private Object decode(EmbeddedChannel channel) {
+        for (int offset = 0; offset < message.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, message.length - offset);
+            ByteBuf chunk = Unpooled.wrappedBuffer(message, offset, length);
+            channel.writeInbound(chunk);
+        }
+        Object result = channel.readInbound();
+        channel.finishAndReleaseAll();
+        return result;
+    }
+
+    @Benchmark
+    public Object framingDecoder() {
+        return decode(new EmbeddedChannel(new JsonRpcDecoder(Integer.MAX_VALUE)));
+    }
+
+    @Benchmark
+    public Object nonBlockingDecoder() throws Exception {
+        return decode(new EmbeddedChannel(new NonBlockingJsonRpcDecoder(Integer.MAX_VALUE)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(JsonRpcDecoderBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
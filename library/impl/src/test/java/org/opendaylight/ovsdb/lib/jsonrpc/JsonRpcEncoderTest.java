@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonRpcEncoderTest {
+
+    EmbeddedChannel ch;
+
+    @Before
+    public void setUp() {
+        ch = new EmbeddedChannel(new JsonRpcEncoder());
+    }
+
+    @Test
+    public void testEncodeRequest() {
+        JsonRpc10Request request = new JsonRpc10Request("1");
+        request.setMethod("transact");
+        request.setParams(Arrays.asList("Open_vSwitch", "foo"));
+        ch.writeOutbound(request);
+        assertEquals("{\"id\":\"1\",\"method\":\"transact\",\"params\":[\"Open_vSwitch\",\"foo\"]}",
+                readOutboundString());
+        ch.finish();
+    }
+
+    @Test
+    public void testEncodeEchoResponse() {
+        JsonRpc10Response response = new JsonRpc10Response("echo");
+        ch.writeOutbound(response);
+        assertEquals("{\"id\":\"echo\",\"result\":[]}", readOutboundString());
+        ch.finish();
+    }
+
+    @Test
+    public void testPassThrough() {
+        ByteBuf buf = Unpooled.copiedBuffer("{}", CharsetUtil.UTF_8);
+        ch.writeOutbound(buf);
+        assertSame(buf, ch.readOutbound());
+        ch.writeOutbound("{\"id\":null}");
+        assertEquals("{\"id\":null}", readOutboundString());
+        ch.finish();
+    }
+
+    private String readOutboundString() {
+        ByteBuf buf = ch.readOutbound();
+        try {
+            return buf.toString(CharsetUtil.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
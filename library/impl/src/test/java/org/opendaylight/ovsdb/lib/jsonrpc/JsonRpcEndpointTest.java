@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.UpdateNotification;
+
+public class JsonRpcEndpointTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private EmbeddedChannel channel;
+    private JsonRpcEndpoint endpoint;
+    private OvsdbRPC rpc;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        endpoint = new JsonRpcEndpoint(mapper, channel);
+        rpc = endpoint.getClient(channel, OvsdbRPC.class);
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        JsonRpcEndpoint.setReaperInterval(1000);
+    }
+
+    @Test
+    public void testCompletedFuture() throws Exception {
+        ListenableFuture<List<String>> future = rpc.list_dbs();
+        JsonRpc10Request request = channel.readOutbound();
+
+        JsonNode response = mapper.readTree("{\"id\":" + request.getId()
+                + ",\"result\":[\"Open_vSwitch\"],\"error\":null}");
+        endpoint.processResult(response);
+
+        assertEquals("Open_vSwitch", future.get(0, TimeUnit.MILLISECONDS).get(0));
+        assertEquals(1, endpoint.getCompletedFutureCount());
+        assertEquals(0, endpoint.getReapedFutureCount());
+        assertEquals(0, endpoint.getPendingCallCount());
+    }
+
+    @Test
+    public void testRequestIds() throws Exception {
+        rpc.list_dbs();
+        rpc.list_dbs();
+        JsonRpc10Request first = channel.readOutbound();
+        JsonRpc10Request second = channel.readOutbound();
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertTrue(mapper.valueToTree(second).get("id").isIntegralNumber());
+
+        // A textual id is never one of ours, even if it looks like one
+        endpoint.processResult(mapper.readTree("{\"id\":\"1\",\"result\":[],\"error\":null}"));
+        assertEquals(2, endpoint.getPendingCallCount());
+    }
+
+    @Test
+    public void testCallbackDispatch() throws Exception {
+        final List<String> events = new ArrayList<>();
+        rpc.registerCallback(new OvsdbRPC.Callback() {
+            @Override
+            public void update(Object context, UpdateNotification upadateNotification) {
+                events.add("update");
+            }
+
+            @Override
+            public void update2(Object context, UpdateNotification updateNotification) {
+                events.add("update2");
+            }
+
+            @Override
+            public void update3(Object context, UpdateNotification updateNotification) {
+                events.add("update3:" + updateNotification.getLastTxnId());
+            }
+
+            @Override
+            public void locked(Object context, List<String> ids) {
+                events.add("locked " + ids);
+            }
+
+            @Override
+            public void stolen(Object context, List<String> ids) {
+                events.add("stolen " + ids);
+            }
+        });
+
+        endpoint.processRequest(channel, mapper.readTree("{\"id\":null,\"method\":\"locked\",\"params\":[\"lk\"]}"));
+        endpoint.processRequest(channel, mapper.readTree("{\"id\":null,\"method\":\"stolen\",\"params\":[\"lk\"]}"));
+        endpoint.processRequest(channel, mapper.readTree("{\"id\":null,\"method\":\"update3\","
+                + "\"params\":[\"mon\",\"txn\",{}]}"));
+        endpoint.processRequest(channel, mapper.readTree("{\"id\":\"echo\",\"method\":\"echo\",\"params\":[]}"));
+
+        assertEquals(Arrays.asList("locked [lk]", "stolen [lk]", "update3:txn"), events);
+        JsonRpc10Response echoReply = channel.readOutbound();
+        assertEquals("echo", ((JsonNode) echoReply.getId()).asText());
+    }
+
+    @Test
+    public void testReapedFuture() throws Exception {
+        JsonRpcEndpoint.setReaperInterval(20);
+        ListenableFuture<List<String>> future = rpc.list_dbs();
+
+        for (int i = 0; i < 100 && !future.isDone(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(future.isCancelled());
+        assertEquals(0, endpoint.getCompletedFutureCount());
+        assertEquals(1, endpoint.getReapedFutureCount());
+        assertEquals(0, endpoint.getPendingCallCount());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.ovsdb.lib.message.OvsdbRPC;
+import org.opendaylight.ovsdb.lib.message.TransactBuilder;
+import org.opendaylight.ovsdb.lib.operations.OperationResult;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the binding of transact responses carrying a large number of operation results, comparing
+ * {@link JsonRpcEndpoint#processResult(JsonNode)} with the former convertValue based binding, for results handed
+ * out as trees and for results bound to POJOs. The pending call is set up before each invocation, only the binding
+ * of the response is measured.
+ * Run with {@code java -cp <test classpath> org.opendaylight.ovsdb.lib.jsonrpc.JsonRpcResultBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonRpcResultBenchmark {
+
+    // A transact bound to operation results, through the reader of the endpoint rather than its tree fast path
+    public interface TypedRpc {
+        ListenableFuture<List<OperationResult>> transact(List<Object> params);
+    }
+
+    @Param({"1000", "10000"})
+    public int results;
+
+    @Param({"tree", "pojo"})
+    public String binding;
+
+    private final ObjectMapper mapper = OvsdbObjectMapper.getObjectMapper();
+    private EmbeddedChannel channel;
+    private JsonRpcEndpoint endpoint;
+    private OvsdbRPC rpc;
+    private TypedRpc typedRpc;
+    private TransactBuilder transact;
+    private ObjectNode response;
+    private JavaType resultType;
+    private ListenableFuture<?> pending;
+
+    @Setup
+    public void setUp() throws Exception {
+        channel = new EmbeddedChannel();
+        endpoint = new JsonRpcEndpoint(mapper, channel);
+        rpc = endpoint.getClient(channel, OvsdbRPC.class);
+        typedRpc = endpoint.getClient(channel, TypedRpc.class);
+        transact = new TransactBuilder(new DatabaseSchema("Open_vSwitch", null, Collections.emptyMap()));
+
+        StringBuilder sb = new StringBuilder("{\"id\":0,\"error\":null,\"result\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (i % 2 == 0) {
+                sb.append(String.format("{\"uuid\":[\"uuid\",\"%08x-0e4f-43d8-a068-259e75aabbba\"]}", i));
+            } else {
+                sb.append("{\"count\":1}");
+            }
+        }
+        sb.append("]}");
+        response = (ObjectNode) mapper.readTree(sb.toString());
+        resultType = mapper.getTypeFactory().constructCollectionType(List.class,
+                "pojo".equals(binding) ? OperationResult.class : JsonNode.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void sendRequest() {
+        pending = "pojo".equals(binding) ? typedRpc.transact(Collections.emptyList()) : rpc.transact(transact);
+        JsonRpc10Request request = channel.readOutbound();
+        response.put("id", (Long) request.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public Object convertValue() {
+        return mapper.convertValue(response.get("result"), resultType);
+    }
+
+    @Benchmark
+    public Object processResult() {
+        endpoint.processResult(response);
+        return pending;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(JsonRpcResultBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
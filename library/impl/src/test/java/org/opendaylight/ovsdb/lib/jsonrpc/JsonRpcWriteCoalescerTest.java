@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+public class JsonRpcWriteCoalescerTest {
+
+    @Test
+    public void testFlushIsDeferred() {
+        JsonRpcWriteCoalescer coalescer = new JsonRpcWriteCoalescer(64, 65536);
+        EmbeddedChannel ch = new EmbeddedChannel(coalescer, new JsonRpcEncoder());
+        for (int i = 0; i < 10; i++) {
+            ch.write(new JsonRpc10Request(Integer.toString(i)));
+        }
+        ch.flush();
+        // the flush is deferred until the pending tasks of the loop run
+        assertNull(ch.readOutbound());
+        ch.runPendingTasks();
+        for (int i = 0; i < 10; i++) {
+            ByteBuf buf = ch.readOutbound();
+            buf.release();
+        }
+        assertEquals(1, coalescer.getFlushCount());
+        assertEquals(10, coalescer.getFlushedMessages());
+        ch.finish();
+    }
+
+    @Test
+    public void testFlushesOnMessageThreshold() {
+        JsonRpcWriteCoalescer coalescer = new JsonRpcWriteCoalescer(4, 65536);
+        EmbeddedChannel ch = new EmbeddedChannel(coalescer, new JsonRpcEncoder());
+        for (int i = 0; i < 10; i++) {
+            ch.write(new JsonRpc10Request(Integer.toString(i)));
+        }
+        ch.flush();
+        assertEquals(2, coalescer.getFlushCount());
+        ch.runPendingTasks();
+        assertEquals(3, coalescer.getFlushCount());
+        assertEquals(4, coalescer.getMaxBatchMessages());
+        ch.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.CharsetUtil;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NonBlockingJsonRpcDecoderTest {
+
+    static final String PREAMBLE = "                    ";
+    static final String PARTIAL_START = "{\"foo\":";
+    static final String PARTIAL_END = "{\"bar\":\"baz\"}}";
+
+    String testJson;
+    String prettyTestJson;
+    NonBlockingJsonRpcDecoder decoder;
+    EmbeddedChannel ch;
+
+    @Before
+    public void setUp() throws Exception {
+        decoder = new NonBlockingJsonRpcDecoder(1000);
+        ch = new EmbeddedChannel(decoder);
+
+        URL testJsonUrl = Resources.getResource(JsonRpcDecoderTest.class, "test.json");
+        testJson = Resources.toString(testJsonUrl, StandardCharsets.UTF_8);
+        URL prettyTestJsoUrl = Resources.getResource(JsonRpcDecoderTest.class, "pretty-test.json");
+        prettyTestJson = Resources.toString(prettyTestJsoUrl, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test decoding the Stringified Json text in test.json to
+     * individual Json node objects, matching what Jackson produces for the same text.
+     */
+    @Test
+    public void testDecode() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            ch.writeInbound(copiedBuffer(testJson, CharsetUtil.UTF_8));
+        }
+        JsonNode expected = new ObjectMapper().readTree(testJson);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected, ch.readInbound());
+        }
+        assertEquals(10, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test
+    public void testDecodePrettyJson() throws Exception {
+        ch.writeInbound(copiedBuffer(prettyTestJson, CharsetUtil.UTF_8));
+        assertEquals(new ObjectMapper().readTree(prettyTestJson), ch.readInbound());
+        assertEquals(1, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test
+    public void testDecodeSkipSpaces() throws Exception {
+        ch.writeInbound(copiedBuffer(PREAMBLE + testJson + PREAMBLE + testJson, CharsetUtil.UTF_8));
+        assertEquals(2, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    /**
+     * Test that a message split at an arbitrary position, including in the middle of a token,
+     * is assembled once the remaining bytes arrive.
+     */
+    @Test
+    public void testDecodePartial() throws Exception {
+        ch.writeInbound(copiedBuffer(PARTIAL_START, CharsetUtil.UTF_8));
+        assertNull(ch.readInbound());
+        ch.writeInbound(copiedBuffer(PARTIAL_END.substring(0, 5), CharsetUtil.UTF_8));
+        assertNull(ch.readInbound());
+        ch.writeInbound(copiedBuffer(PARTIAL_END.substring(5), CharsetUtil.UTF_8));
+        JsonNode node = ch.readInbound();
+        assertEquals("baz", node.get("foo").get("bar").asText());
+        assertEquals(1, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test
+    public void testDecodeByteByByte() throws Exception {
+        for (byte b : testJson.getBytes(StandardCharsets.UTF_8)) {
+            ch.writeInbound(copiedBuffer(new byte[] {b}));
+        }
+        assertEquals(new ObjectMapper().readTree(testJson), ch.readInbound());
+        assertEquals(1, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    /**
+     * Test that the frame size is the one of the message in progress, not of the buffers it arrived in: the start
+     * of a message received along with the end of the previous one is counted.
+     */
+    @Test
+    public void testFrameLength() throws Exception {
+        // One byte more than the first message
+        decoder = new NonBlockingJsonRpcDecoder(PARTIAL_START.length() + PARTIAL_END.length() + 1);
+        ch = new EmbeddedChannel(decoder);
+
+        ch.writeInbound(copiedBuffer(PARTIAL_START, CharsetUtil.UTF_8));
+        assertEquals(PARTIAL_START.length(), decoder.getPartialMessageBytes());
+        // Ends the first message and starts the second one
+        ch.writeInbound(copiedBuffer(PARTIAL_END + " " + PARTIAL_START, CharsetUtil.UTF_8));
+        assertEquals(PARTIAL_START.length(), decoder.getPartialMessageBytes());
+        assertFalse(decoder.isMaxFrameLimitReached());
+
+        String longerEnd = "{\"bar\":\"bazbazbaz";
+        ch.writeInbound(copiedBuffer(longerEnd, CharsetUtil.UTF_8));
+        assertEquals(PARTIAL_START.length() + longerEnd.length(), decoder.getPartialMessageBytes());
+        assertTrue(decoder.isMaxFrameLimitReached());
+        ch.writeInbound(copiedBuffer("\"}}", CharsetUtil.UTF_8));
+        assertEquals(0, decoder.getPartialMessageBytes());
+        assertEquals(2, decoder.getRecordsRead());
+        ch.finish();
+    }
+
+    @Test(expected = DecoderException.class)
+    public void testDecodeInvalidEncoding() throws Exception {
+        ch.writeInbound(copiedBuffer(testJson, CharsetUtil.UTF_16));
+        ch.finish();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.jsonrpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Arrays;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.notation.Mutation;
+import org.opendaylight.ovsdb.lib.notation.Mutator;
+import org.opendaylight.ovsdb.lib.notation.OvsdbMap;
+import org.opendaylight.ovsdb.lib.notation.OvsdbSet;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+
+public class OvsdbObjectMapperTest {
+
+    private static final String UUID_VALUE = "f6a5a4f0-0e4f-43d8-a068-259e75aabbba";
+
+    @Test
+    public void testSharedInstance() {
+        assertSame(OvsdbObjectMapper.getObjectMapper(), OvsdbObjectMapper.getObjectMapper());
+        OvsdbObjectMapper.warmUp();
+    }
+
+    @Test
+    public void testNotationSerializers() throws Exception {
+        ObjectWriter writer = OvsdbObjectMapper.getWriter();
+
+        assertEquals("[\"uuid\",\"" + UUID_VALUE + "\"]", writer.writeValueAsString(new UUID(UUID_VALUE)));
+        assertEquals("[\"named-uuid\",\"row1\"]", writer.writeValueAsString(new UUID("row1")));
+        assertEquals("[\"name\",\"==\",\"br0\"]",
+                writer.writeValueAsString(new Condition("name", Function.EQUALS, "br0")));
+        assertEquals("[\"ports\",\"insert\",[\"set\",[\"a\"]]]", writer.writeValueAsString(
+                new Mutation("ports", Mutator.INSERT, OvsdbSet.fromSet(ImmutableSet.of("a")))));
+        assertEquals("[\"map\",[[\"k\",\"v\"]]]",
+                writer.writeValueAsString(OvsdbMap.fromMap(ImmutableMap.of("k", "v"))));
+
+        // Null members are left out of requests
+        JsonRpc10Request request = new JsonRpc10Request(1L);
+        request.setParams(Arrays.asList("Open_vSwitch"));
+        assertEquals("{\"id\":1,\"params\":[\"Open_vSwitch\"]}", writer.writeValueAsString(request));
+    }
+}
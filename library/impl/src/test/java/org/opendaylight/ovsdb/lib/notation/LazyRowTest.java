@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.opendaylight.ovsdb.lib.schema.TableSchema;
+
+public class LazyRowTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GenericTableSchema bridge;
+    private ObjectNode rowNode;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            bridge = DatabaseSchema.fromJson("Open_vSwitch", mapper.readTree(is).get("result"))
+                    .table("Bridge", GenericTableSchema.class);
+        }
+        rowNode = (ObjectNode) mapper.readTree("{\"name\":\"br0\",\"external_ids\":[\"map\",[[\"a\",\"1\"]]],"
+                + "\"stp_enable\":false,\"hidden\":1}");
+    }
+
+    @After
+    public void tearDown() {
+        TableSchema.setLazyRowDecoding(false);
+    }
+
+    @Test
+    public void testLazyDecoding() {
+        TableSchema.setLazyRowDecoding(true);
+        Row<GenericTableSchema> row = bridge.createRow(rowNode);
+        assertTrue(row instanceof LazyRow);
+
+        ColumnSchema<GenericTableSchema, Map> externalIds = bridge.column("external_ids", Map.class);
+        Column<GenericTableSchema, Map> column = row.getColumn(externalIds);
+        assertEquals("1", column.getData().get("a"));
+        assertSame(column, row.getColumn(externalIds));
+        assertNull(row.getColumn(bridge.column("ports", Object.class)));
+
+        ColumnSchema<GenericTableSchema, String> name = bridge.column("name", String.class);
+        row.addColumn("name", new Column<>(name, "br1"));
+        assertEquals("br1", row.getColumn(name).getData());
+        assertEquals(3, row.getColumns().size());
+    }
+
+    @Test
+    public void testEqualsEagerRow() {
+        Row<GenericTableSchema> eager = bridge.createRow(rowNode);
+        TableSchema.setLazyRowDecoding(true);
+        Row<GenericTableSchema> lazy = bridge.createRow(rowNode);
+
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.notation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.jsonrpc.OvsdbObjectMapper;
+
+public class UUIDTest {
+
+    private static final String VALUE = "0a1b2c3d-4e5f-6789-abcd-ef0123456789";
+
+    @After
+    public void tearDown() {
+        UUID.setInterning(false);
+    }
+
+    @Test
+    public void testCompactForm() throws Exception {
+        java.util.UUID reference = java.util.UUID.fromString(VALUE);
+        UUID uuid = new UUID(VALUE);
+        assertFalse(uuid.isNamed());
+        assertEquals(reference.getMostSignificantBits(), uuid.getMostSignificantBits());
+        assertEquals(reference.getLeastSignificantBits(), uuid.getLeastSignificantBits());
+        assertEquals(VALUE, uuid.toString());
+        assertEquals(31 + VALUE.hashCode(), uuid.hashCode());
+
+        UUID fromBits = new UUID(reference.getMostSignificantBits(), reference.getLeastSignificantBits());
+        assertEquals(uuid, fromBits);
+        assertEquals(uuid.hashCode(), fromBits.hashCode());
+
+        // Anything else is kept as is
+        UUID named = new UUID("row1");
+        assertTrue(named.isNamed());
+        assertEquals("row1", named.toString());
+        assertTrue(new UUID(VALUE.toUpperCase()).isNamed());
+        assertNotEquals(uuid, new UUID(VALUE.toUpperCase()));
+
+        assertEquals("[\"uuid\",\"" + VALUE + "\"]", OvsdbObjectMapper.getObjectMapper().writeValueAsString(uuid));
+        assertEquals("[\"named-uuid\",\"row1\"]", OvsdbObjectMapper.getObjectMapper().writeValueAsString(named));
+    }
+
+    @Test
+    public void testInterning() {
+        assertNotSame(UUID.valueOf(VALUE), UUID.valueOf(VALUE));
+        UUID.setInterning(true);
+        assertSame(UUID.valueOf(VALUE), UUID.valueOf(new String(VALUE)));
+        assertNotSame(UUID.valueOf("row1"), UUID.valueOf("row1"));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ObjIntConsumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.OvsdbClient;
+import org.opendaylight.ovsdb.lib.error.UnexpectedResultException;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Condition;
+import org.opendaylight.ovsdb.lib.notation.Function;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+
+public class BulkSelectTest {
+
+    private final OvsdbClient client = mock(OvsdbClient.class);
+    private final List<List<Operation>> sent = new ArrayList<>();
+    private DatabaseSchema dbSchema;
+    private GenericTableSchema bridge;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", new ObjectMapper().readTree(is).get("result"));
+        }
+        dbSchema.populateInternallyGeneratedColumns();
+        bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+
+        // Every select returns a row per condition value
+        when(client.transact(any(), anyList(), any())).thenAnswer(invocation -> {
+            List<Operation> operations = invocation.getArgument(1);
+            ObjIntConsumer<Row<GenericTableSchema>> consumer = invocation.getArgument(2);
+            sent.add(operations);
+            List<OperationResult> results = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                Select<?> select = (Select<?>) operations.get(i);
+                for (Condition condition : select.getWhere()) {
+                    consumer.accept(row(condition.getValue()), i);
+                }
+                if (select.getWhere().isEmpty()) {
+                    consumer.accept(row(new UUID("u1")), i);
+                    consumer.accept(row(new UUID("u2")), i);
+                    consumer.accept(row(new UUID("u3")), i);
+                }
+                results.add(new OperationResult());
+            }
+            return Futures.immediateFuture(results);
+        });
+    }
+
+    private Row<GenericTableSchema> row(Object uuid) {
+        Row<GenericTableSchema> row = new Row<>(bridge);
+        row.addColumn("_uuid", new Column<>(bridge.column("_uuid", UUID.class), (UUID) uuid));
+        return row;
+    }
+
+    @Test
+    public void testByUuid() throws Exception {
+        List<List<Row<GenericTableSchema>>> chunks = new ArrayList<>();
+        List<Long> progress = new ArrayList<>();
+        long rows = new BulkSelect(client, dbSchema, bridge)
+                .columns(Collections.singletonList("name"))
+                .concurrency(2)
+                .progress((chunksRead, chunkCount, rowsRead) -> {
+                    assertEquals(2, chunkCount);
+                    progress.add(rowsRead);
+                })
+                .byUuid(2, chunks::add).get();
+
+        assertEquals(3, rows);
+        assertEquals(Arrays.asList(2L, 3L), progress);
+        assertEquals(2, chunks.get(0).size());
+        assertEquals(1, chunks.get(1).size());
+        // The _uuid listing, then a select per row
+        assertEquals(Collections.singletonList("_uuid"), ((Select<?>) sent.get(0).get(0)).getColumns());
+        assertEquals(2, sent.get(1).size());
+        assertEquals(Collections.singletonList("name"), ((Select<?>) sent.get(1).get(0)).getColumns());
+    }
+
+    @Test
+    public void testExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Thread executorThread = executor.submit(Thread::currentThread).get();
+            List<Thread> threads = new ArrayList<>();
+            new BulkSelect(client, dbSchema, bridge)
+                    .executor(executor)
+                    .progress((chunksRead, chunkCount, rowsRead) -> threads.add(Thread.currentThread()))
+                    .byUuid(2, chunk -> threads.add(Thread.currentThread())).get();
+            assertEquals(Collections.nCopies(4, executorThread), threads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedChunk() throws Exception {
+        List<Condition> first = Collections.singletonList(new Condition("_uuid", Function.EQUALS, new UUID("a")));
+        List<Condition> second = Collections.singletonList(new Condition("_uuid", Function.EQUALS, new UUID("b")));
+        List<List<Row<GenericTableSchema>>> chunks = new ArrayList<>();
+        try {
+            new BulkSelect(client, dbSchema, bridge).byConditions(Arrays.asList(first, second), chunk -> {
+                chunks.add(chunk);
+                throw new UnexpectedResultException("stop");
+            }).get();
+            fail("The consumer failure should fail the read");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof UnexpectedResultException);
+        }
+        // The second chunk is not read once the first failed
+        assertEquals(1, chunks.size());
+        assertEquals(1, sent.size());
+    }
+}
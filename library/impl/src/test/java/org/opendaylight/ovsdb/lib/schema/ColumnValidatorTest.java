@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.ovsdb.lib.schema;
+
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.ovsdb.lib.error.ColumnValidationException;
+import org.opendaylight.ovsdb.lib.notation.Mutator;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.operations.Mutate;
+import org.opendaylight.ovsdb.lib.operations.Update;
+
+public class ColumnValidatorTest {
+
+    private GenericTableSchema bridge;
+    private GenericTableSchema port;
+
+    @Before
+    public void setUp() throws IOException {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            DatabaseSchema dbSchema = DatabaseSchema.fromJson("Open_vSwitch",
+                    new ObjectMapper().readTree(is).get("result"));
+            bridge = dbSchema.table("Bridge", GenericTableSchema.class);
+            port = dbSchema.table("Port", GenericTableSchema.class);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        ColumnSchema.setValidation(false);
+    }
+
+    private static void assertInvalid(Runnable runnable) {
+        try {
+            runnable.run();
+            fail("The value should have been rejected");
+        } catch (ColumnValidationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testValidateValues() {
+        ColumnSchema<GenericTableSchema, Long> tag = port.column("tag", Long.class);
+        ColumnSchema<GenericTableSchema, String> vlanMode = port.column("vlan_mode", String.class);
+        ColumnSchema<GenericTableSchema, Set> floodVlans = bridge.column("flood_vlans", Set.class);
+
+        // Disabled by default
+        new Update<>(port).set(tag, 5000L).set(vlanMode, "bogus");
+
+        ColumnSchema.setValidation(true);
+        new Update<>(port).set(tag, 4095L).set(vlanMode, "native-untagged");
+        assertInvalid(() -> new Update<>(port).set(tag, 4096L));
+        assertInvalid(() -> new Update<>(port).set(vlanMode, "bogus"));
+
+        new Update<>(bridge).set(floodVlans, ImmutableSet.of(0L, 100L));
+        assertInvalid(() -> new Update<>(bridge).set(floodVlans, ImmutableSet.of(-1L)));
+        Set<Long> tooMany = LongStream.range(0, 4097).boxed().collect(Collectors.toSet());
+        assertInvalid(() -> new Update<>(bridge).set(floodVlans, tooMany));
+    }
+
+    @Test
+    public void testValidateMutations() {
+        ColumnSchema<GenericTableSchema, Object> flowTables = bridge.column("flow_tables", Object.class);
+        ColumnSchema<GenericTableSchema, Object> tag = port.column("tag", Object.class);
+        ColumnSchema.setValidation(true);
+
+        Map<Long, UUID> table = ImmutableMap.of(1L, new UUID("table"));
+        new Mutate<>(bridge).addMutation(flowTables, Mutator.INSERT, table);
+        new Mutate<>(bridge).addMutation(flowTables, Mutator.DELETE, ImmutableSet.of(254L));
+        assertInvalid(() -> new Mutate<>(bridge).addMutation(flowTables, Mutator.DELETE, ImmutableSet.of(255L)));
+        // Operands of arithmetic mutators are not column values
+        new Mutate<>(port).addMutation(tag, Mutator.DIFFERENCE, -1L);
+    }
+}
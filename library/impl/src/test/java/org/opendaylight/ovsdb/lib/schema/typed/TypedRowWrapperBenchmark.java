@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2018 EBay Software Foundation and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.ovsdb.lib.schema.typed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.ovsdb.lib.notation.Column;
+import org.opendaylight.ovsdb.lib.notation.Row;
+import org.opendaylight.ovsdb.lib.notation.UUID;
+import org.opendaylight.ovsdb.lib.schema.ColumnSchema;
+import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
+import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the typed row wrappers returned by {@link TyperUtils#getTypedRowWrapper}, wrapping rows and
+ * reading a few of their columns like the southbound update commands do, compared with reading the same columns
+ * from the untyped rows.
+ * Run with {@code java -cp <test classpath> org.opendaylight.ovsdb.lib.schema.typed.TypedRowWrapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypedRowWrapperBenchmark {
+
+    @TypedTable(name = "Bridge", database = "Open_vSwitch", fromVersion = "1.0.0")
+    public interface Bridge extends TypedBaseTable<GenericTableSchema> {
+        @TypedColumn(name = "name", method = MethodType.GETDATA, fromVersion = "1.0.0")
+        String getName();
+
+        @TypedColumn(name = "name", method = MethodType.SETDATA, fromVersion = "1.0.0")
+        void setName(String name);
+
+        @TypedColumn(name = "ports", method = MethodType.GETDATA)
+        Set<UUID> getPorts();
+
+        @TypedColumn(name = "external_ids", method = MethodType.GETCOLUMN, untilVersion = "100.0.0")
+        Column<GenericTableSchema, Map<String, String>> getExternalIdsColumn();
+
+        @TypedColumn(name = "external_ids", method = MethodType.SETDATA, untilVersion = "100.0.0")
+        void setExternalIds(Map<String, String> externalIds);
+    }
+
+    @Param({"1000"})
+    public int rows;
+
+    private DatabaseSchema dbSchema;
+    private List<Row<GenericTableSchema>> rowList;
+    private ColumnSchema<GenericTableSchema, String> nameColumn;
+    private ColumnSchema<GenericTableSchema, Set> portsColumn;
+    private ColumnSchema<GenericTableSchema, Map> externalIdsColumn;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", new ObjectMapper().readTree(is).get("result"));
+        }
+        rowList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Bridge bridge = TyperUtils.getTypedRowWrapper(dbSchema, Bridge.class);
+            bridge.setName("br" + i);
+            bridge.setExternalIds(Collections.singletonMap("iface-id", "id" + i));
+            rowList.add(bridge.getRow());
+        }
+        GenericTableSchema tableSchema = dbSchema.table("Bridge", GenericTableSchema.class);
+        nameColumn = tableSchema.column("name", String.class);
+        portsColumn = tableSchema.column("ports", Set.class);
+        externalIdsColumn = tableSchema.column("external_ids", Map.class);
+    }
+
+    @Benchmark
+    public void typedRows(Blackhole blackhole) {
+        for (Row<GenericTableSchema> row : rowList) {
+            Bridge bridge = TyperUtils.getTypedRowWrapper(dbSchema, Bridge.class, row);
+            blackhole.consume(bridge.getName());
+            blackhole.consume(bridge.getPorts());
+            blackhole.consume(bridge.getExternalIdsColumn().getData());
+        }
+    }
+
+    @Benchmark
+    public void untypedRows(Blackhole blackhole) {
+        for (Row<GenericTableSchema> row : rowList) {
+            blackhole.consume(row.getColumn(nameColumn).getData());
+            Column<GenericTableSchema, Set> ports = row.getColumn(portsColumn);
+            blackhole.consume(ports == null ? null : ports.getData());
+            blackhole.consume(row.getColumn(externalIdsColumn).getData());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(TypedRowWrapperBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
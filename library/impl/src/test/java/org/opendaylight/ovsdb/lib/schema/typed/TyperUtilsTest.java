@@ -9,14 +9,19 @@
 package org.opendaylight.ovsdb.lib.schema.typed;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.ovsdb.lib.error.SchemaVersionMismatchException;
+import org.opendaylight.ovsdb.lib.notation.Column;
 import org.opendaylight.ovsdb.lib.notation.Version;
 import org.opendaylight.ovsdb.lib.schema.DatabaseSchema;
 import org.opendaylight.ovsdb.lib.schema.GenericTableSchema;
@@ -38,6 +43,25 @@ public class TyperUtilsTest {
 
     }
 
+    @TypedTable(name = "Bridge", database = "Open_vSwitch")
+    public interface TestBridge extends TypedBaseTable<GenericTableSchema> {
+        @TypedColumn(name = "name", method = MethodType.GETDATA)
+        String getName();
+
+        @TypedColumn(name = "name", method = MethodType.SETDATA)
+        void setName(String name);
+
+        @TypedColumn(name = "name", method = MethodType.GETCOLUMN)
+        Column<GenericTableSchema, String> getNameColumn();
+
+        @TypedColumn(name = "stp_enable", method = MethodType.GETDATA, fromVersion = "100.0.0")
+        Boolean getStpEnable();
+    }
+
+    @TypedTable(name = "Bridge", database = "hardware_vtep")
+    public interface TestOtherBridge extends TypedBaseTable<GenericTableSchema> {
+    }
+
     /**
      * Test that {@link TyperUtils#getTableSchema(DatabaseSchema, Class)} returns the appropriate schema when given a
      * table containing the appropriate schema, for a typed table (annotated).
@@ -98,6 +122,36 @@ public class TyperUtilsTest {
         TyperUtils.getTableSchema(dbSchema, TestUntypedTable.class);
     }
 
+    /**
+     * Test that the typed row wrappers read and write the wrapped row, and check the schema versions of their
+     * methods.
+     */
+    @Test
+    public void testTypedRowWrapper() throws IOException {
+        DatabaseSchema dbSchema;
+        try (InputStream is = DatabaseSchema.class.getResourceAsStream("test_schema.json")) {
+            dbSchema = DatabaseSchema.fromJson("Open_vSwitch", new ObjectMapper().readTree(is).get("result"));
+        }
+        TestBridge bridge = TyperUtils.getTypedRowWrapper(dbSchema, TestBridge.class);
+        assertNull(bridge.getName());
+        bridge.setName("br0");
+        assertEquals("br0", bridge.getName());
+        assertEquals("name", bridge.getNameColumn().getSchema().getName());
+        assertEquals("Bridge", bridge.getSchema().getName());
+
+        TestBridge wrapper = TyperUtils.getTypedRowWrapper(dbSchema, TestBridge.class, bridge.getRow());
+        assertEquals("br0", wrapper.getName());
+        assertEquals(bridge, wrapper);
+        assertEquals(bridge.hashCode(), wrapper.hashCode());
+        assertNull(TyperUtils.getTypedRowWrapper(dbSchema, TestOtherBridge.class));
+        try {
+            wrapper.getStpEnable();
+            Assert.fail("Column not available in schema version " + dbSchema.getVersion());
+        } catch (SchemaVersionMismatchException e) {
+            // expected
+        }
+    }
+
     /**
      * Test that {@link TyperUtils#checkVersion(Version, Version, Version)} detects an old version. (The aim here isn't
      * to test {@link Version#compareTo(Version)}, that should be done in